@@ -0,0 +1,5 @@
+#!/bin/sh
+# Autorise les connexions de réplication des réplicas locaux (profil compose "replicas").
+# Exécuté par l'image postgres à l'initialisation d'un volume vide uniquement.
+set -e
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
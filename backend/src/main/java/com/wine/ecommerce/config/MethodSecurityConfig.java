@@ -1,6 +1,18 @@
 package com.wine.ecommerce.config;
 
+import com.wine.ecommerce.config.security.RequiresRole;
+import com.wine.ecommerce.config.security.RoleAuthorizationInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.security.authorization.method.AuthorizationInterceptorsOrder;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 
 /**
@@ -12,6 +24,7 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
  * - @PreAuthorize/@PostAuthorize (prePostEnabled = true par défaut)
  * - @Secured (securedEnabled = true)
  * - JSR-250 annotations comme @RolesAllowed (jsr250Enabled = true)
+ * - @RequiresRole : contrôle de rôles compilé en masque de bits, sans SpEL
  */
 @Configuration
 @EnableMethodSecurity(
@@ -20,7 +33,18 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
     jsr250Enabled = true        // Active @RolesAllowed/@PermitAll/@DenyAll
 )
 public class MethodSecurityConfig {
-    
-    // La configuration est entièrement basée sur les annotations
-    // Pas besoin de beans supplémentaires pour le setup de base
+
+    /**
+     * Advisor des méthodes et classes annotées {@link RequiresRole}, ordonné comme
+     * {@code @PreAuthorize} : le contrôle précède l'ouverture des transactions.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor requiresRoleAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        ComposablePointcut pointcut = new ComposablePointcut(AnnotationMatchingPointcut.forMethodAnnotation(RequiresRole.class))
+                .union(new AnnotationMatchingPointcut(RequiresRole.class, true));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new RoleAuthorizationInterceptor(meterRegistry));
+        advisor.setOrder(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder());
+        return advisor;
+    }
 }
\ No newline at end of file
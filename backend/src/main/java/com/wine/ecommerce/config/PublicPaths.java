@@ -0,0 +1,26 @@
+package com.wine.ecommerce.config;
+
+import java.util.List;
+
+/**
+ * Chemins publics de l'application, partagés entre la chaîne de sécurité
+ * et le résolveur de token porteur.
+ * <p>
+ * Seuls les motifs exacts et les motifs préfixes terminés par {@code /**} sont supportés.
+ */
+public final class PublicPaths {
+
+    /**
+     * Endpoints accessibles sans authentification ({@code permitAll}).
+     */
+    public static final List<String> PERMIT_ALL = List.of(
+            "/auth/**",
+            "/.well-known/jwks.json",
+            "/actuator/health/**",
+            "/swagger-ui/**",
+            "/v3/api-docs/**"
+    );
+
+    private PublicPaths() {
+    }
+}
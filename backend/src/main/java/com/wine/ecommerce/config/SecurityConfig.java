@@ -2,16 +2,23 @@ package com.wine.ecommerce.config;
 
 import com.wine.ecommerce.config.jwt.CustomJwtDecoder;
 import com.wine.ecommerce.config.jwt.JwtAuthenticationConverter;
+import com.wine.ecommerce.config.jwt.JwtBearerTokenResolver;
+import com.wine.ecommerce.config.security.PasswordEncoders;
+import com.wine.ecommerce.config.security.PasswordHashingExecutor;
+import com.wine.ecommerce.config.security.PasswordHashingProperties;
+import com.wine.ecommerce.config.security.PooledPasswordEncoder;
+import com.wine.ecommerce.user.services.CustomUserDetailsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationEntryPoint;
 import org.springframework.security.oauth2.server.resource.web.access.BearerTokenAccessDeniedHandler;
 import org.springframework.security.web.SecurityFilterChain;
@@ -25,7 +32,7 @@ import java.util.List;
  * Configuration de sécurité moderne Spring Security 6.5+ avec OAuth2 Resource Server.
  * <p>
  * Features:
- * - OAuth2 Resource Server natif pour JWT
+ * - OAuth2 Resource Server natif pour JWT, seule chaîne d'authentification par token
  * - CORS configuré pour les clients frontend
  * - Autorisation basée sur les rôles (CLIENT, ADMIN, SUPER_ADMIN)
  * - Protection CSRF désactivée pour l'API REST
@@ -40,22 +47,32 @@ public class SecurityConfig {
 
     private final CustomJwtDecoder customJwtDecoder;
     private final JwtAuthenticationConverter jwtAuthenticationConverter;
+    private final JwtBearerTokenResolver jwtBearerTokenResolver;
 
     /**
-     * Encodeur de mot de passe BCrypt
+     * Encodeur de mot de passe délégant (BCrypt au coût configuré ou calibré).
+     * Les hashs existants sans préfixe restent vérifiés par BCrypt et sont ré-encodés à la connexion.
      */
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties passwordHashingProperties) {
+        return PasswordEncoders.delegating(passwordHashingProperties);
     }
 
 
     /**
      * Gestionnaire d'authentification pour les endpoints d'authentification.
+     * <p>
+     * Seule la vérification BCrypt (et le ré-encodage éventuel) passe par le pool de
+     * hachage : le chargement de l'utilisateur reste sur le thread appelant.
      */
     @Bean
-    public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
-        return config.getAuthenticationManager();
+    public AuthenticationManager authenticationManager(CustomUserDetailsService userDetailsService,
+                                                       PasswordEncoder passwordEncoder,
+                                                       PasswordHashingExecutor passwordHashingExecutor) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(new PooledPasswordEncoder(passwordEncoder, passwordHashingExecutor));
+        provider.setUserDetailsPasswordService(userDetailsService);
+        return new ProviderManager(provider);
     }
 
     /**
@@ -94,13 +111,14 @@ public class SecurityConfig {
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http
-                .securityMatcher("/api/**", "/auth/**")
+                .securityMatcher("/api/**", "/auth/**", "/.well-known/**", "/actuator/**")
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
                 .oauth2ResourceServer(oauth2 -> oauth2
+                        .bearerTokenResolver(jwtBearerTokenResolver)
                         .jwt(jwt -> jwt
                                 .decoder(customJwtDecoder)
                                 .jwtAuthenticationConverter(jwtAuthenticationConverter)
@@ -115,8 +133,8 @@ public class SecurityConfig {
                         )
                 )
                 .authorizeHttpRequests(authz -> authz
-                        // Endpoints d'authentification - accès public
-                        .requestMatchers("/auth/**", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                        // Endpoints d'authentification, clés publiques JWKS et sondes de santé - accès public
+                        .requestMatchers(PublicPaths.PERMIT_ALL.toArray(String[]::new)).permitAll()
 
                         // Endpoints utilisateurs - gestion des rôles
                         .requestMatchers("/api/users", "/api/users/*/roles/**", "/api/users/*/status").hasAnyRole("ADMIN", "SUPER_ADMIN")
@@ -133,6 +151,9 @@ public class SecurityConfig {
 
                         // Autres endpoints API - authentification requise
                         .requestMatchers("/api/**").authenticated()
+
+                        // Métriques et autres endpoints actuator - accès administrateur
+                        .requestMatchers("/actuator/**").hasAnyRole("ADMIN", "SUPER_ADMIN")
                 )
                 .build();
     }
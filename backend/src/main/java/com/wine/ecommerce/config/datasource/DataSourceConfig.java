@@ -0,0 +1,230 @@
+package com.wine.ecommerce.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Pools de connexions PostgreSQL.
+ * <p>
+ * Deux pools HikariCP de taille fixe : le pool principal et, si activé, un pool en lecture
+ * seule. La source de données exposée à JPA est un {@link LazyConnectionDataSourceProxy} :
+ * la connexion physique n'est empruntée qu'à la première requête SQL, une fois le caractère
+ * lecture seule de la transaction connu, ce qui route les transactions
+ * {@code @Transactional(readOnly = true)} vers le pool en lecture seule.
+ * <p>
+ * Lorsque des réplicas sont configurés, ils remplacent le pool en lecture seule : les
+ * lectures sont réparties entre eux par {@link ReplicaRoutingDataSource}, qui écarte les
+ * réplicas en retard et se replie sur le serveur principal.
+ * <p>
+ * Les pools étant des beans, Spring Boot publie leurs métriques ({@code hikaricp.connections.*},
+ * dont le temps d'attente {@code acquire} et la durée d'emprunt {@code usage}) et leur état
+ * de santé sur l'actuator.
+ */
+@Slf4j
+@Configuration
+public class DataSourceConfig {
+
+    static final String PRIMARY_POOL_NAME = "primary";
+    static final String READ_ONLY_POOL_NAME = "read-only";
+
+    /**
+     * Pool principal, utilisé par les transactions en écriture.
+     */
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties,
+                                              DataSourcePoolProperties poolProperties) {
+        HikariDataSource pool = createPool(dataSourceProperties, dataSourceProperties.determineUrl(),
+                PRIMARY_POOL_NAME, poolProperties.getPrimary(), primaryPoolSize(poolProperties), poolProperties);
+        // Réécrit chaque batch d'INSERT en un INSERT multi-lignes
+        pool.addDataSourceProperty("reWriteBatchedInserts", "true");
+        return pool;
+    }
+
+    /**
+     * Pool des transactions en lecture seule sur le serveur principal, sans réplica :
+     * connexions ouvertes en {@code READ ONLY}, toute écriture y est refusée par le serveur.
+     */
+    @Bean(destroyMethod = "close")
+    @Conditional(SharedReadOnlyPoolCondition.class)
+    public HikariDataSource readOnlyDataSource(DataSourceProperties dataSourceProperties,
+                                               DataSourcePoolProperties poolProperties) {
+        HikariDataSource pool = createPool(dataSourceProperties, dataSourceProperties.determineUrl(),
+                READ_ONLY_POOL_NAME, poolProperties.getReadOnly(), readOnlyPoolSize(poolProperties), poolProperties);
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    /**
+     * Lectures réparties sur les réplicas, avec repli sur le pool principal.
+     * <p>
+     * Les pools des réplicas ne sont pas des beans : un réplica injoignable ne doit pas
+     * rendre l'application {@code DOWN}. Leurs métriques HikariCP sont donc enregistrées ici.
+     */
+    @Bean
+    @Conditional(ReplicasCondition.class)
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                             DataSourcePoolProperties poolProperties,
+                                                             @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                                             MeterRegistry meterRegistry) {
+        DataSourcePoolProperties.ReadOnlyPool readOnly = poolProperties.getReadOnly();
+        int size = readOnlyPoolSize(poolProperties);
+        List<HikariDataSource> pools = readOnly.getReplicas().stream().map(replica -> {
+            HikariDataSource pool = createPool(dataSourceProperties, replica.getUrl(), replica.getName(),
+                    readOnly, size, poolProperties);
+            if (StringUtils.hasText(replica.getUsername())) {
+                pool.setUsername(replica.getUsername());
+                pool.setPassword(replica.getPassword());
+            }
+            pool.setReadOnly(true);
+            // Un réplica injoignable au démarrage est écarté, sans bloquer l'application
+            pool.setInitializationFailTimeout(-1);
+            // Une connexion qui tarde sur un réplica est prise sur le serveur principal
+            pool.setConnectionTimeout(Math.min(readOnly.getConnectionTimeout().toMillis(),
+                    readOnly.getLagCheckTimeout().toMillis()));
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            return pool;
+        }).toList();
+        return new ReplicaRoutingDataSource(pools, primaryDataSource, readOnly, meterRegistry);
+    }
+
+    @Bean
+    @Conditional(ReplicasCondition.class)
+    public ReplicaHealthIndicator replicasHealthIndicator(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new ReplicaHealthIndicator(replicaRoutingDataSource);
+    }
+
+    /**
+     * Source de données de l'application (JPA, JdbcTemplate).
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 @Qualifier("readOnlyDataSource") ObjectProvider<HikariDataSource> readOnlyDataSource,
+                                 ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        replicaRoutingDataSource.ifAvailable(proxy::setReadOnlyDataSource);
+        readOnlyDataSource.ifAvailable(proxy::setReadOnlyDataSource);
+        return proxy;
+    }
+
+    private HikariDataSource createPool(DataSourceProperties dataSourceProperties, String url, String name,
+                                        DataSourcePoolProperties.Pool settings, int size,
+                                        DataSourcePoolProperties poolProperties) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername(dataSourceProperties.determineUsername());
+        pool.setPassword(dataSourceProperties.determinePassword());
+        pool.setDriverClassName(dataSourceProperties.determineDriverClassName());
+
+        // Pool de taille fixe : pas de création de connexion sous la charge
+        pool.setMaximumPoolSize(size);
+        pool.setMinimumIdle(size);
+        pool.setConnectionTimeout(settings.getConnectionTimeout().toMillis());
+        pool.setLeakDetectionThreshold(settings.getLeakDetectionThreshold().toMillis());
+        pool.setMaxLifetime(settings.getMaxLifetime().toMillis());
+
+        DataSourcePoolProperties.StatementCache cache = poolProperties.getStatementCache();
+        pool.addDataSourceProperty("prepareThreshold", String.valueOf(cache.getPrepareThreshold()));
+        pool.addDataSourceProperty("preparedStatementCacheQueries", String.valueOf(cache.getCacheQueries()));
+        pool.addDataSourceProperty("preparedStatementCacheSizeMiB", String.valueOf(cache.getCacheSizeMib()));
+
+        log.info("Pool de connexions '{}' : {} connexions vers {}", name, size, url);
+        return pool;
+    }
+
+    /**
+     * Taille du pool principal : celle configurée, sinon la part de la capacité du serveur
+     * laissée par le pool en lecture seule s'il partage le même serveur.
+     */
+    static int primaryPoolSize(DataSourcePoolProperties properties) {
+        if (properties.getPrimary().getMaximumPoolSize() > 0) {
+            return properties.getPrimary().getMaximumPoolSize();
+        }
+        int capacity = derivedPoolSize(properties.getSizing());
+        if (sharesPrimaryServer(properties)) {
+            capacity -= readOnlyPoolSize(properties);
+        }
+        return Math.max(capacity, 1);
+    }
+
+    /**
+     * Taille du pool en lecture seule (par réplica) : celle configurée, sinon la moitié de la
+     * capacité du serveur principal qu'il partage, ou toute la capacité d'un réplica.
+     */
+    static int readOnlyPoolSize(DataSourcePoolProperties properties) {
+        if (properties.getReadOnly().getMaximumPoolSize() > 0) {
+            return properties.getReadOnly().getMaximumPoolSize();
+        }
+        int capacity = derivedPoolSize(properties.getSizing());
+        return sharesPrimaryServer(properties) ? Math.max(capacity / 2, 1) : capacity;
+    }
+
+    /**
+     * Connexions utiles vers un serveur : la demande en pointe (loi de Little),
+     * bornée par {@code cœurs × 2 + disques effectifs}.
+     */
+    static int derivedPoolSize(DataSourcePoolProperties.Sizing sizing) {
+        int serverCapacity = sizing.getEffectiveDatabaseCores() * 2 + sizing.getEffectiveSpindleCount();
+        if (sizing.getPeakTransactionsPerSecond() <= 0) {
+            return serverCapacity;
+        }
+        Duration transactionTime = sizing.getAverageTransactionTime();
+        long demand = (long) Math.ceil(sizing.getPeakTransactionsPerSecond() * transactionTime.toNanos() / 1e9);
+        return Math.clamp(demand, 1, serverCapacity);
+    }
+
+    private static boolean sharesPrimaryServer(DataSourcePoolProperties properties) {
+        return properties.getReadOnly().isEnabled() && properties.getReadOnly().getReplicas().isEmpty();
+    }
+
+    /**
+     * Vrai si le routage en lecture seule est activé et que des réplicas sont configurés.
+     */
+    private static boolean replicasConfigured(ConditionContext context) {
+        Binder binder = Binder.get(context.getEnvironment());
+        boolean enabled = binder.bind("app.datasource.read-only.enabled", Boolean.class).orElse(true);
+        return enabled && binder.bind("app.datasource.read-only.replicas",
+                        Bindable.listOf(DataSourcePoolProperties.Replica.class))
+                .map(replicas -> !replicas.isEmpty())
+                .orElse(false);
+    }
+
+    static class ReplicasCondition implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return replicasConfigured(context);
+        }
+    }
+
+    static class SharedReadOnlyPoolCondition implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            boolean enabled = Binder.get(context.getEnvironment())
+                    .bind("app.datasource.read-only.enabled", Boolean.class).orElse(true);
+            return enabled && !replicasConfigured(context);
+        }
+    }
+}
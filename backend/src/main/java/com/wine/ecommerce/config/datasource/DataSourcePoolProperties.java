@@ -0,0 +1,226 @@
+package com.wine.ecommerce.config.datasource;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.validator.constraints.time.DurationMin;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration externalisée des pools de connexions PostgreSQL.
+ * <p>
+ * L'URL et les identifiants restent ceux de {@code spring.datasource} ; ces propriétés
+ * règlent le dimensionnement des pools, le cache des requêtes préparées et le pool
+ * dédié aux transactions en lecture seule, ou les réplicas qui les servent.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.datasource")
+@Validated
+public class DataSourcePoolProperties {
+
+    @Valid
+    private Sizing sizing = new Sizing();
+
+    @Valid
+    private Pool primary = new Pool();
+
+    @Valid
+    private ReadOnlyPool readOnly = new ReadOnlyPool();
+
+    @Valid
+    private StatementCache statementCache = new StatementCache();
+
+    /**
+     * Dimensionnement dérivé de la charge, appliqué aux pools sans taille explicite.
+     * <p>
+     * Le nombre total de connexions vers un serveur est borné par
+     * {@code cœurs × 2 + disques effectifs} : au-delà, les requêtes se disputent le CPU
+     * du serveur et la latence augmente sans gain de débit. En deçà de cette borne, la
+     * taille suit la loi de Little : {@code transactions/s en pointe × durée moyenne}.
+     */
+    @Data
+    public static class Sizing {
+
+        /**
+         * Nombre de cœurs du serveur PostgreSQL (0 pour les cœurs de la machine locale).
+         */
+        @Min(value = 0, message = "Le nombre de cœurs ne peut pas être négatif")
+        private int databaseCores = 0;
+
+        /**
+         * Nombre de disques effectifs du serveur (0 si les données tiennent en mémoire).
+         */
+        @Min(value = 0, message = "Le nombre de disques ne peut pas être négatif")
+        private int effectiveSpindleCount = 1;
+
+        /**
+         * Débit de transactions attendu en pointe (0 pour dimensionner à la borne serveur).
+         */
+        @Min(value = 0, message = "Le débit de pointe ne peut pas être négatif")
+        private int peakTransactionsPerSecond = 0;
+
+        /**
+         * Durée moyenne d'une transaction, connexion tenue.
+         */
+        @NotNull(message = "La durée moyenne des transactions est obligatoire")
+        private Duration averageTransactionTime = Duration.ofMillis(20);
+
+        public int getEffectiveDatabaseCores() {
+            return databaseCores > 0 ? databaseCores : Runtime.getRuntime().availableProcessors();
+        }
+    }
+
+    @Data
+    public static class Pool {
+
+        /**
+         * Taille maximale du pool (0 pour la dériver de la charge, voir {@link Sizing}).
+         * Le pool est de taille fixe : les connexions inactives sont conservées.
+         */
+        @Min(value = 0, message = "La taille du pool ne peut pas être négative")
+        private int maximumPoolSize = 0;
+
+        /**
+         * Attente maximale d'une connexion libre avant échec de la requête.
+         */
+        @NotNull(message = "Le délai d'obtention d'une connexion est obligatoire")
+        private Duration connectionTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Durée d'emprunt au-delà de laquelle une fuite de connexion est journalisée
+         * avec la pile d'appels de l'emprunt (0 pour désactiver, 2 s minimum sinon).
+         */
+        @NotNull(message = "Le seuil de détection des fuites est obligatoire")
+        private Duration leakDetectionThreshold = Duration.ofSeconds(30);
+
+        /**
+         * Durée de vie maximale d'une connexion, à garder sous les délais réseau et serveur.
+         */
+        @NotNull(message = "La durée de vie des connexions est obligatoire")
+        private Duration maxLifetime = Duration.ofMinutes(30);
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    @ToString(callSuper = true)
+    public static class ReadOnlyPool extends Pool {
+
+        /**
+         * Route les transactions {@code readOnly = true} vers un pool dédié ou vers les
+         * réplicas. Désactivé, elles utilisent le pool principal.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Réplicas servant les lectures (vide pour un pool en lecture seule sur le serveur
+         * principal). Chacun reçoit un pool de la taille configurée ou dérivée.
+         */
+        @Valid
+        private List<Replica> replicas = new ArrayList<>();
+
+        /**
+         * Retard de réplication au-delà duquel un réplica est écarté des lectures.
+         */
+        @NotNull(message = "Le retard maximal des réplicas est obligatoire")
+        private Duration maxLag = Duration.ofSeconds(10);
+
+        /**
+         * Intervalle entre deux mesures du retard des réplicas.
+         */
+        @NotNull(message = "L'intervalle de mesure du retard est obligatoire")
+        private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+        /**
+         * Délai maximal d'obtention d'une connexion sur un réplica et de mesure de son retard
+         * (250 ms minimum) ; au-delà, le réplica est écarté et la lecture se replie sur le
+         * serveur principal.
+         */
+        @NotNull(message = "Le délai de mesure du retard est obligatoire")
+        @DurationMin(millis = 250, message = "Le délai de mesure du retard doit être d'au moins 250 ms")
+        private Duration lagCheckTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Requête renvoyant le retard du réplica en secondes (NULL si inconnu, le réplica
+         * est alors écarté). La requête par défaut renvoie NULL pour un serveur qui n'est pas
+         * en réplication : une URL de réplica pointant par erreur vers un serveur principal ou
+         * une instance autonome, qui ne reçoit pas les écritures, n'est jamais utilisée. Le
+         * profil {@code replicas} la remplace pour accepter une instance autonome en local.
+         * <p>
+         * Un réplica n'est considéré à jour que si son récepteur WAL est connecté au serveur
+         * principal ({@code pg_stat_wal_receiver.status = 'streaming'}) : un récepteur arrêté
+         * ou déconnecté ne reçoit plus rien et a donc rejoué tout ce qu'il a reçu, sans être
+         * à jour pour autant. Le statut n'est visible qu'avec les droits
+         * {@code pg_read_all_stats} (ou {@code pg_monitor}) ; sans eux, le retard est inconnu
+         * et les lectures se replient sur le serveur principal. Pour une détection plus stricte
+         * (connexion ouverte mais muette), remplacer cette requête par la lecture d'une ligne
+         * de battement de cœur mise à jour sur le serveur principal.
+         */
+        @NotBlank(message = "La requête de mesure du retard est obligatoire")
+        private String lagQuery = """
+                SELECT CASE
+                    WHEN NOT pg_is_in_recovery() THEN NULL
+                    WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL
+                    WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                    ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+                END""";
+    }
+
+    @Data
+    public static class Replica {
+
+        /**
+         * Nom du réplica, repris dans le nom de son pool et dans les métriques.
+         */
+        @NotBlank(message = "Le nom du réplica est obligatoire")
+        private String name;
+
+        @NotBlank(message = "L'URL JDBC du réplica est obligatoire")
+        private String url;
+
+        /**
+         * Identifiants du réplica (vides pour ceux de {@code spring.datasource}).
+         */
+        private String username = "";
+
+        private String password = "";
+    }
+
+    /**
+     * Cache des requêtes préparées côté serveur (pilote PostgreSQL).
+     */
+    @Data
+    public static class StatementCache {
+
+        /**
+         * Nombre d'exécutions d'une requête avant sa préparation côté serveur
+         * (0 pour désactiver). Les requêtes générées par Hibernate sont peu nombreuses
+         * et réutilisées : les préparer dès la première exécution évite l'analyse
+         * répétée du SQL par le serveur.
+         */
+        @Min(value = 0, message = "Le seuil de préparation ne peut pas être négatif")
+        private int prepareThreshold = 1;
+
+        /**
+         * Nombre de requêtes préparées conservées par connexion.
+         */
+        @Min(value = 0, message = "La taille du cache de requêtes ne peut pas être négative")
+        private int cacheQueries = 512;
+
+        /**
+         * Mémoire maximale du cache de requêtes par connexion, en Mio.
+         */
+        @Min(value = 0, message = "La mémoire du cache de requêtes ne peut pas être négative")
+        private int cacheSizeMib = 10;
+    }
+}
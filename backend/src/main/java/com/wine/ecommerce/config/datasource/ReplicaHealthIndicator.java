@@ -0,0 +1,46 @@
+package com.wine.ecommerce.config.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * État des réplicas de lecture sur {@code /actuator/health} (composant {@code replicas}).
+ * <p>
+ * {@code UP} tant qu'au moins un réplica sert les lectures ; sinon {@code DEGRADED} : les
+ * lectures sont servies par le serveur principal, l'application reste disponible.
+ */
+@RequiredArgsConstructor
+public class ReplicaHealthIndicator implements HealthIndicator {
+
+    static final Status DEGRADED = new Status("DEGRADED", "Lectures servies par le serveur principal");
+
+    private final ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Override
+    public Health health() {
+        List<ReplicaRoutingDataSource.ReplicaState> states = replicaRoutingDataSource.replicaStates();
+        Map<String, Object> replicas = new LinkedHashMap<>();
+        boolean anyAvailable = false;
+        for (ReplicaRoutingDataSource.ReplicaState state : states) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("available", state.available());
+            if (!Double.isNaN(state.lagSeconds())) {
+                details.put("lagSeconds", state.lagSeconds());
+            }
+            if (state.reason() != null) {
+                details.put("reason", state.reason());
+            }
+            replicas.put(state.name(), details);
+            anyAvailable |= state.available();
+        }
+        return Health.status(anyAvailable ? Status.UP : DEGRADED)
+                .withDetail("replicas", replicas)
+                .build();
+    }
+}
@@ -0,0 +1,203 @@
+package com.wine.ecommerce.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Source de données des transactions en lecture seule, répartie sur les réplicas.
+ * <p>
+ * Chaque connexion est prise sur le réplica disponible suivant (tourniquet). Un réplica est
+ * écarté tant que son retard de réplication dépasse le seuil configuré, que le retard ne
+ * peut être mesuré ou qu'une connexion y échoue ; il est réintégré à la mesure suivante
+ * qui le trouve à jour. Sans réplica disponible, la connexion est prise sur le serveur
+ * principal et passée en lecture seule : les lectures restent servies.
+ * <p>
+ * Le retard est mesuré périodiquement par {@link #checkReplicaLag()}.
+ * <p>
+ * Métriques exposées, taggées par {@code replica} :
+ * - {@code datasource.replica.lag} : dernier retard mesuré, en secondes (NaN si inconnu)
+ * - {@code datasource.replica.available} : 1 si le réplica sert les lectures, 0 sinon
+ * - {@code datasource.replica.fallbacks} : connexions prises sur le serveur principal,
+ *   faute de réplica disponible (sans tag)
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements InitializingBean, DisposableBean {
+
+    private final List<Replica> replicas;
+    private final DataSource primary;
+    private final DataSourcePoolProperties.ReadOnlyPool settings;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter fallbacks;
+
+    public ReplicaRoutingDataSource(List<HikariDataSource> replicaPools, DataSource primary,
+                                    DataSourcePoolProperties.ReadOnlyPool settings, MeterRegistry meterRegistry) {
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.primary = primary;
+        this.settings = settings;
+
+        for (Replica replica : replicas) {
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Retard de réplication mesuré")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.available", replica, r -> r.available ? 1 : 0)
+                    .description("Réplica servant les lectures")
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+        }
+        this.fallbacks = Counter.builder("datasource.replica.fallbacks")
+                .description("Connexions en lecture seule prises sur le serveur principal")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int start = nextReplica.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (!replica.available) {
+                continue;
+            }
+            try {
+                return replica.pool.getConnection();
+            } catch (SQLException e) {
+                replica.markUnavailable("connexion impossible: " + e.getMessage());
+            }
+        }
+
+        fallbacks.increment();
+        Connection connection = primary.getConnection();
+        connection.setReadOnly(true);
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    /**
+     * Mesure le retard de chaque réplica et met à jour ceux qui servent les lectures.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.read-only.lag-check-interval:5s}",
+            initialDelayString = "${app.datasource.read-only.lag-check-interval:5s}")
+    public void checkReplicaLag() {
+        for (Replica replica : replicas) {
+            replica.checkLag();
+        }
+    }
+
+    /**
+     * État courant des réplicas, dans l'ordre de configuration.
+     */
+    public List<ReplicaState> replicaStates() {
+        return replicas.stream()
+                .map(r -> new ReplicaState(r.name(), r.available, r.lagSeconds, r.unavailableReason))
+                .toList();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // Première mesure avant toute lecture : un réplica n'est utilisé qu'une fois vérifié
+        checkReplicaLag();
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(r -> r.pool.close());
+    }
+
+    /**
+     * État d'un réplica.
+     *
+     * @param lagSeconds dernier retard mesuré, NaN si inconnu
+     * @param reason     motif de l'éviction, null si le réplica est disponible
+     */
+    public record ReplicaState(String name, boolean available, double lagSeconds, String reason) {
+    }
+
+    private final class Replica {
+
+        private final HikariDataSource pool;
+
+        private volatile boolean available;
+        private volatile double lagSeconds = Double.NaN;
+        private volatile String unavailableReason = "retard non mesuré";
+        private volatile boolean checked;
+
+        Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        String name() {
+            return pool.getPoolName();
+        }
+
+        void checkLag() {
+            try {
+                measureLag();
+            } finally {
+                checked = true;
+            }
+        }
+
+        private void measureLag() {
+            Duration maxLag = settings.getMaxLag();
+            try (Connection connection = pool.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout((int) Math.max(settings.getLagCheckTimeout().toSeconds(), 1));
+                try (ResultSet rs = statement.executeQuery(settings.getLagQuery())) {
+                    double lag = Double.NaN;
+                    if (rs.next()) {
+                        lag = rs.getDouble(1);
+                        if (rs.wasNull()) {
+                            lag = Double.NaN;
+                        }
+                    }
+                    lagSeconds = lag;
+                }
+            } catch (SQLException e) {
+                lagSeconds = Double.NaN;
+                markUnavailable("mesure du retard impossible: " + e.getMessage());
+                return;
+            }
+
+            if (Double.isNaN(lagSeconds)) {
+                markUnavailable("retard inconnu");
+            } else if (lagSeconds * 1000 > maxLag.toMillis()) {
+                markUnavailable(String.format("retard de %.1f s (maximum %d s)", lagSeconds, maxLag.toSeconds()));
+            } else if (!available) {
+                available = true;
+                unavailableReason = null;
+                log.info("Réplica '{}' disponible pour les lectures (retard {} s)", name(), lagSeconds);
+            }
+        }
+
+        void markUnavailable(String reason) {
+            boolean wasAvailable = available;
+            available = false;
+            unavailableReason = reason;
+            if (wasAvailable || !checked) {
+                log.warn("Réplica '{}' écarté des lectures: {}", name(), reason);
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.wine.ecommerce.config.jwt;
+
+/**
+ * Extraction du token porteur depuis la valeur de l'header Authorization.
+ * <p>
+ * La structure compacte du JWT ({@code header.payload.signature}) est contrôlée par trois
+ * recherches de séparateur ({@link String#indexOf(int, int)}, intrinsèque vectorisée de la
+ * JVM), sans expression régulière ni tableau intermédiaire : seule la sous-chaîne du token
+ * est allouée, et uniquement si elle est bien formée. L'alphabet Base64url des segments
+ * n'est pas contrôlé ici : un caractère invalide est rejeté par le décodeur (401).
+ */
+final class BearerTokenScanner {
+
+    private BearerTokenScanner() {
+    }
+
+    /**
+     * Extrait le token d'une valeur d'header.
+     *
+     * @param headerValue la valeur de l'header (peut être null)
+     * @param tokenPrefix le préfixe attendu, par exemple {@code "Bearer "}
+     * @return le token, ou null si absent ou mal formé
+     */
+    static String extract(String headerValue, String tokenPrefix) {
+        if (headerValue == null || !headerValue.startsWith(tokenPrefix)) {
+            return null;
+        }
+        int start = tokenPrefix.length();
+        int end = headerValue.length();
+
+        // Trois segments non vides : exactement deux séparateurs, ni en tête, ni en fin, ni accolés
+        int first = headerValue.indexOf('.', start);
+        if (first <= start) {
+            return null;
+        }
+        int second = headerValue.indexOf('.', first + 1);
+        if (second <= first + 1 || second == end - 1 || headerValue.indexOf('.', second + 1) >= 0) {
+            return null;
+        }
+        return headerValue.substring(start);
+    }
+}
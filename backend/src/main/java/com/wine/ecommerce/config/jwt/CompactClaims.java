@@ -0,0 +1,140 @@
+package com.wine.ecommerce.config.jwt;
+
+import com.wine.ecommerce.user.enums.UserRole;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Encodage compact des claims portés par les tokens d'accès.
+ * <p>
+ * Le token est renvoyé par le client à chaque requête : chaque octet de payload coûte
+ * en taille d'header, en décodage Base64 et en parsing JSON. Les rôles sont donc encodés
+ * en masque de bits (bit {@code n} = {@link UserRole} d'ordinal {@code n}) et l'ID
+ * utilisateur en Base64url sur 22 caractères au lieu des 36 de sa forme textuelle.
+ * <p>
+ * L'ordre des constantes de {@link UserRole} fait partie du format : un nouveau rôle
+ * doit être ajouté en fin d'énumération.
+ */
+public final class CompactClaims {
+
+    /**
+     * Claims des tokens émis avant l'encodage compact, encore acceptés jusqu'à leur expiration.
+     */
+    public static final String LEGACY_ROLES_CLAIM = "roles";
+    public static final String LEGACY_USER_ID_CLAIM = "userId";
+
+    /**
+     * Millisecondes de l'instant d'émission, le claim {@code iat} étant à la seconde.
+     * Sans elles, un token émis dans la seconde d'une révocation serait indiscernable
+     * d'un token émis juste avant.
+     */
+    public static final String ISSUED_AT_MILLIS_CLAIM = "ims";
+
+    private static final UserRole[] ROLES = UserRole.values();
+    private static final int UUID_TEXT_LENGTH = 36;
+
+    private CompactClaims() {
+    }
+
+    /**
+     * Encode les rôles d'un ensemble d'autorités en masque de bits.
+     * Les autorités qui ne correspondent à aucun {@link UserRole} sont ignorées.
+     *
+     * @param authorities les autorités de l'utilisateur
+     * @return le masque des rôles
+     */
+    public static int encodeRoles(Collection<? extends GrantedAuthority> authorities) {
+        int mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            for (UserRole role : ROLES) {
+                if (role.getAuthority().equals(authority.getAuthority())) {
+                    mask |= 1 << role.ordinal();
+                    break;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Décode un masque de bits en liste de rôles, dans l'ordre de l'énumération.
+     *
+     * @param mask le masque des rôles
+     * @return les rôles présents dans le masque
+     */
+    public static List<UserRole> decodeRoles(int mask) {
+        List<UserRole> roles = new ArrayList<>(Integer.bitCount(mask));
+        for (UserRole role : ROLES) {
+            if ((mask & (1 << role.ordinal())) != 0) {
+                roles.add(role);
+            }
+        }
+        return roles;
+    }
+
+    /**
+     * Instant d'émission d'un token, à la milliseconde si le token porte
+     * {@link #ISSUED_AT_MILLIS_CLAIM}. Sinon (tokens plus anciens), le début de la seconde
+     * d'émission : en cas de doute, le token est considéré comme émis plus tôt.
+     *
+     * @param issuedAt le claim {@code iat} (peut être null)
+     * @param millis   la valeur de {@link #ISSUED_AT_MILLIS_CLAIM} (peut être null)
+     * @return l'instant d'émission, ou null si {@code iat} est absent
+     */
+    public static Instant issuedAt(Date issuedAt, Object millis) {
+        if (issuedAt == null) {
+            return null;
+        }
+        Instant seconds = issuedAt.toInstant().truncatedTo(ChronoUnit.SECONDS);
+        if (millis instanceof Number number && number.intValue() >= 0 && number.intValue() < 1000) {
+            return seconds.plusMillis(number.intValue());
+        }
+        return seconds;
+    }
+
+    /**
+     * Encode un UUID en Base64url sans padding (22 caractères).
+     *
+     * @param id l'UUID à encoder
+     * @return la forme compacte de l'UUID
+     */
+    public static String encodeUserId(UUID id) {
+        ByteBuffer buffer = ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * Décode l'ID utilisateur d'un claim, sous forme compacte ou textuelle
+     * (tokens émis avant l'encodage compact).
+     *
+     * @param value la valeur du claim (peut être null)
+     * @return l'UUID, ou null si absent
+     * @throws IllegalArgumentException si la valeur n'est pas un UUID valide
+     */
+    public static UUID decodeUserId(Object value) {
+        if (value == null || value instanceof UUID) {
+            return (UUID) value;
+        }
+        String text = value.toString();
+        if (text.length() == UUID_TEXT_LENGTH) {
+            return UUID.fromString(text);
+        }
+        byte[] bytes = Base64.getUrlDecoder().decode(text);
+        if (bytes.length != 16) {
+            throw new IllegalArgumentException("ID utilisateur compact invalide: " + text);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -1,21 +1,20 @@
 package com.wine.ecommerce.config.jwt;
 
+import com.wine.ecommerce.config.jwt.exceptions.JwtTokenException;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.oauth2.core.OAuth2Error;
-import org.springframework.security.oauth2.core.OAuth2TokenValidator;
-import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
 import org.springframework.security.oauth2.jwt.*;
 import org.springframework.stereotype.Component;
 
-import java.time.Instant;
-import java.util.LinkedHashMap;
-import java.util.Map;
-
 /**
  * Décodeur JWT personnalisé qui utilise notre JwtUtils existant.
  * Adapte l'interface Spring Security OAuth2 à notre implémentation JWT actuelle.
+ * <p>
+ * Les headers exposés sont ceux du token vérifié (algorithme réel et kid) et les claims
+ * sont transmis sous leur forme compacte (voir {@link CompactClaims}).
+ * Un token invalide, expiré ou révoqué produit une {@link BadJwtException} (401).
  */
 @Slf4j
 @Component
@@ -27,45 +26,26 @@ public class CustomJwtDecoder implements JwtDecoder {
     @Override
     public Jwt decode(String token) throws JwtException {
         try {
-            // Valider et extraire les claims avec notre JwtUtils existant
-            Claims claims = jwtUtils.parseAndValidateToken(token);
-            String subject = jwtUtils.extractUsername(token);
-
-            // Construire les headers (simulés pour compatibilité)
-            Map<String, Object> headers = new LinkedHashMap<>();
-            headers.put("alg", "HS512");
-            headers.put("typ", "JWT");
-
-            // Convertir les claims Jwt en Map
-            Map<String, Object> claimsMap = new LinkedHashMap<>();
-            claimsMap.put("sub", subject);
-            claimsMap.put("iat", claims.getIssuedAt().toInstant());
-            claimsMap.put("exp", claims.getExpiration().toInstant());
-            
-            // Ajouter les rôles si présents dans le token
-            if (claims.get("roles") != null) {
-                claimsMap.put("roles", claims.get("roles"));
-            }
-            
-            // Ajouter les autres claims custom
-            claims.forEach((key, value) -> {
-                if (!claimsMap.containsKey(key)) {
-                    claimsMap.put(key, value);
-                }
-            });
+            // Valider et extraire les claims avec notre JwtUtils existant (une seule vérification)
+            Jws<Claims> jws = jwtUtils.parseAndValidateJws(token);
+            Claims claims = jws.getBody();
 
-            // Créer le JWT Spring Security
+            // Headers réels (alg, kid) et claims compacts transmis tels quels :
+            // Jwt en fait déjà une copie immuable, aucune copie intermédiaire n'est nécessaire
             return new Jwt(
                 token,
                 claims.getIssuedAt().toInstant(),
                 claims.getExpiration().toInstant(),
-                headers,
-                claimsMap
+                jws.getHeader(),
+                claims
             );
 
+        } catch (JwtTokenException e) {
+            log.debug("JWT rejeté: {} - {}", e.getErrorCode().getCode(), e.getMessage());
+            throw new BadJwtException(e.getMessage(), e);
         } catch (Exception e) {
             log.error("Erreur lors du décodage du JWT: {}", e.getMessage());
             throw new JwtException("Échec du décodage JWT", e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.wine.ecommerce.config.jwt;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Publication des clés publiques de vérification des tokens JWT (RFC 7517).
+ * <p>
+ * Le document est servi depuis la mémoire, sans accès disque ni base de données.
+ */
+@Tag(name = "JWKS", description = "Clés publiques de vérification des tokens JWT")
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private static final Duration MAX_AGE = Duration.ofMinutes(5);
+
+    private final JwtKeyManager jwtKeyManager;
+
+    @Operation(summary = "Jeu de clés publiques",
+            description = "Retourne les clés publiques courantes et retirées encore valides (vide en HS256)")
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(MAX_AGE).cachePublic())
+                .body(jwtKeyManager.publicJwks());
+    }
+}
@@ -1,12 +1,16 @@
 package com.wine.ecommerce.config.jwt;
 
+import com.wine.ecommerce.user.entities.UserPrincipal;
+import com.wine.ecommerce.user.enums.UserStatus;
+import com.wine.ecommerce.user.services.CustomUserDetailsService;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Component;
 
 import java.util.Collection;
@@ -17,27 +21,82 @@ import java.util.stream.Collectors;
 /**
  * Convertit un JWT en token d'authentification Spring Security avec les autorités appropriées.
  * Mappe les rôles du JWT vers les autorités Spring Security avec le préfixe ROLE_.
+ * <p>
+ * Dernière étape de l'unique chaîne d'authentification JWT (résolveur → décodeur → converter) :
+ * le principal est construit depuis les claims en mode sans état, ou chargé en base sinon.
+ * <p>
+ * Les autorités des rôles connus proviennent de {@link RoleAuthorities} : les tokens portant
+ * les mêmes rôles partagent la même collection immuable.
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class JwtAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
 
-    private static final String ROLES_CLAIM = "roles";
     private static final String AUTHORITIES_CLAIM = "authorities";
     private static final String ROLE_PREFIX = "ROLE_";
 
+    private final JwtProperties jwtProperties;
+    private final CustomUserDetailsService userDetailsService;
+
     @Override
     public AbstractAuthenticationToken convert(Jwt jwt) {
-        Collection<GrantedAuthority> authorities = extractAuthorities(jwt);
-        return new JwtAuthenticationToken(jwt, authorities);
+        UserPrincipal principal = jwtProperties.isStatelessAuthentication()
+                ? principalFromClaims(jwt)
+                : null;
+
+        if (principal == null) {
+            principal = loadPrincipal(jwt);
+        }
+        return new JwtUserAuthenticationToken(principal, jwt);
+    }
+
+    /**
+     * Construit le principal depuis les claims vérifiés, sans accès à la base de données.
+     * Les suspensions sont appliquées par le registre de révocation lors du décodage.
+     *
+     * @return le principal, ou null si le token ne porte pas l'ID utilisateur
+     */
+    private UserPrincipal principalFromClaims(Jwt jwt) {
+        Object userId = jwt.getClaim(jwtProperties.getUserIdClaim());
+        if (userId == null) {
+            userId = jwt.getClaim(CompactClaims.LEGACY_USER_ID_CLAIM);
+        }
+        if (userId == null) {
+            return null;
+        }
+
+        return UserPrincipal.builder()
+                .id(CompactClaims.decodeUserId(userId))
+                .email(jwt.getSubject())
+                .status(UserStatus.ACTIVE)
+                .authorities(extractAuthorities(jwt))
+                .build();
+    }
+
+    /**
+     * Charge le principal en base à partir du sujet du token.
+     */
+    private UserPrincipal loadPrincipal(Jwt jwt) {
+        UserPrincipal principal = (UserPrincipal) userDetailsService.loadUserByUsername(jwt.getSubject());
+        if (!principal.isEnabled()) {
+            log.warn("Token JWT présenté pour un compte inactif: {}", jwt.getSubject());
+            throw new DisabledException("Compte utilisateur inactif");
+        }
+        return principal;
     }
 
     /**
      * Extrait les autorités du JWT.
-     * Supporte les claims 'roles' et 'authorities'.
+     * Supporte le masque de rôles compact puis les claims historiques 'roles' et 'authorities'.
      */
     private Collection<GrantedAuthority> extractAuthorities(Jwt jwt) {
-        // Essayer d'abord les rôles
+        // Masque de rôles compact
+        if (jwt.getClaim(jwtProperties.getRolesClaim()) instanceof Number mask) {
+            return RoleAuthorities.forMask(mask.intValue());
+        }
+
+        // Essayer ensuite les rôles
         Collection<GrantedAuthority> roleAuthorities = extractRoles(jwt);
         if (!roleAuthorities.isEmpty()) {
             return roleAuthorities;
@@ -54,12 +113,16 @@ public class JwtAuthenticationConverter implements Converter<Jwt, AbstractAuthen
     }
 
     /**
-     * Extrait les rôles du claim 'roles' et les convertit en autorités avec préfixe ROLE_.
+     * Extrait les rôles du claim historique 'roles' et les convertit en autorités avec préfixe ROLE_.
      */
     private Collection<GrantedAuthority> extractRoles(Jwt jwt) {
-        Object rolesClaim = jwt.getClaim(ROLES_CLAIM);
+        Object rolesClaim = jwt.getClaim(CompactClaims.LEGACY_ROLES_CLAIM);
         
         if (rolesClaim instanceof List<?> rolesList) {
+            List<GrantedAuthority> shared = RoleAuthorities.forNames(rolesList);
+            if (shared != null) {
+                return shared;
+            }
             return rolesList.stream()
                     .filter(String.class::isInstance)
                     .map(String.class::cast)
@@ -0,0 +1,50 @@
+package com.wine.ecommerce.config.jwt;
+
+import com.wine.ecommerce.config.PublicPaths;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.stereotype.Component;
+
+/**
+ * Résout le token porteur des requêtes pour le resource server OAuth2.
+ * <p>
+ * Les chemins publics ({@link PublicPaths#PERMIT_ALL}) ne sont pas authentifiés : aucun
+ * token n'y est résolu, même si le client en envoie un. Un token sans la structure
+ * {@code header.payload.signature} est ignoré et la requête poursuit en anonyme, les règles
+ * d'autorisation décidant alors de l'accès ; un segment hors alphabet Base64url est rejeté
+ * par le décodeur.
+ * Un token dépassant {@link JwtProperties#getMaxTokenLength()} est ignoré de la même façon,
+ * avant tout parcours, empreinte ou décodage.
+ */
+@Slf4j
+@Component
+public class JwtBearerTokenResolver implements BearerTokenResolver {
+
+    private final JwtProperties jwtProperties;
+    private final PublicPathMatcher publicPaths = PublicPathMatcher.compile(PublicPaths.PERMIT_ALL);
+
+    public JwtBearerTokenResolver(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+    }
+
+    @Override
+    public String resolve(HttpServletRequest request) {
+        if (publicPaths.matches(request.getRequestURI())) {
+            return null;
+        }
+
+        String headerAuth = request.getHeader(jwtProperties.getHeaderName());
+        if (headerAuth != null
+                && headerAuth.length() > jwtProperties.getTokenPrefix().length() + jwtProperties.getMaxTokenLength()) {
+            log.debug("Token JWT ignoré: taille supérieure à {} caractères", jwtProperties.getMaxTokenLength());
+            return null;
+        }
+        String token = BearerTokenScanner.extract(headerAuth, jwtProperties.getTokenPrefix());
+
+        if (token == null && headerAuth != null && headerAuth.startsWith(jwtProperties.getTokenPrefix())) {
+            log.debug("Token JWT avec structure invalide détecté dans la requête");
+        }
+        return token;
+    }
+}
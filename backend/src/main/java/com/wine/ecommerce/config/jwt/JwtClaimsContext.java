@@ -0,0 +1,74 @@
+package com.wine.ecommerce.config.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+
+/**
+ * Contexte des claims JWT vérifiés pour la requête HTTP courante.
+ * <p>
+ * Le token porteur est parsé et sa signature vérifiée une seule fois par requête ;
+ * le résultat est conservé dans les attributs de la requête afin que tous les
+ * consommateurs (décodeur, converter, contrôleurs) le relisent sans
+ * nouvelle vérification HMAC.
+ * <p>
+ * En dehors d'une requête HTTP (tâches planifiées, threads applicatifs),
+ * le contexte est vide et chaque appel vérifie le token.
+ */
+@Component
+public class JwtClaimsContext {
+
+    private static final String ATTRIBUTE = JwtClaimsContext.class.getName() + ".VERIFIED_TOKEN";
+
+    /**
+     * Retourne le token vérifié de la requête courante s'il correspond au token donné.
+     *
+     * @param token le token JWT brut
+     * @return le token vérifié, ou vide s'il n'a pas encore été vérifié dans cette requête
+     */
+    public Optional<Jws<Claims>> get(String token) {
+        VerifiedToken verified = currentVerifiedToken();
+        if (verified != null && verified.token().equals(token)) {
+            return Optional.of(verified.jws());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Enregistre un token vérifié pour la requête courante.
+     *
+     * @param token le token JWT brut
+     * @param jws le résultat de la vérification
+     */
+    public void store(String token, Jws<Claims> jws) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(ATTRIBUTE, new VerifiedToken(token, jws), RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Retourne les claims vérifiés de la requête courante.
+     *
+     * @return les claims, ou vide si aucun token n'a été vérifié dans cette requête
+     */
+    public Optional<Claims> currentClaims() {
+        VerifiedToken verified = currentVerifiedToken();
+        return verified != null ? Optional.of(verified.jws().getBody()) : Optional.empty();
+    }
+
+    private VerifiedToken currentVerifiedToken() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return (VerifiedToken) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    private record VerifiedToken(String token, Jws<Claims> jws) {
+    }
+}
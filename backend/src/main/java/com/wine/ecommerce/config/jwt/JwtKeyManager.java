@@ -0,0 +1,327 @@
+package com.wine.ecommerce.config.jwt;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gestionnaire des clés de signature JWT.
+ * <p>
+ * Les clés sont chargées ou générées une seule fois puis partagées par tous les threads.
+ * Chaque token porte l'identifiant de sa clé ({@code kid}) : la vérification résout la clé
+ * par cet identifiant, ce qui permet la rotation sans invalider les tokens en cours.
+ * <p>
+ * En ES256, les clés publiques sont exposées au format JWKS : un nœud de vérification
+ * n'a besoin que de ce document, sans distribution de secret. Les clés sont lues depuis
+ * des fichiers PEM partagés par toutes les instances ; une paire générée en mémoire n'est
+ * acceptée qu'avec {@code app.jwt.ephemeral-keys}.
+ * <p>
+ * Rotation, sans rejet de tokens quel que soit l'ordre des instances ou leurs redémarrages :
+ * <ol>
+ *   <li>publier la clé publique suivante dans {@code app.jwt.additional-public-key-locations}
+ *       sur toutes les instances : elle est acceptée et exposée avant de signer quoi que ce soit ;</li>
+ *   <li>remplacer les fichiers PEM par la nouvelle paire et y déplacer l'ancienne clé publique :
+ *       chaque instance signe avec la nouvelle clé à l'échéance de {@code app.jwt.key-rotation-cron}
+ *       ou à son redémarrage ;</li>
+ *   <li>retirer l'ancienne clé publique une fois {@code app.jwt.expiration} écoulée.</li>
+ * </ol>
+ * Les clés de {@code app.jwt.additional-public-key-locations} sont relues au démarrage et à
+ * chaque rotation. Une clé remplacée en mémoire (clés éphémères) reste acceptée jusqu'à
+ * l'expiration des tokens signés, mais est perdue au redémarrage.
+ */
+@Slf4j
+@Component
+public class JwtKeyManager {
+
+    private final JwtProperties jwtProperties;
+    private volatile KeySet keySet;
+
+    public JwtKeyManager(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+        this.keySet = initialKeySet();
+    }
+
+    /**
+     * Retourne la clé utilisée pour signer les nouveaux tokens.
+     *
+     * @return la clé de signature courante
+     */
+    public SigningKey currentKey() {
+        KeySet current = keySet;
+        // En HS256, un changement du secret configuré reconstruit la clé
+        if (current.secret() != null && !current.secret().equals(jwtProperties.getSecret())) {
+            current = hmacKeySet();
+            keySet = current;
+        }
+        return current.current();
+    }
+
+    /**
+     * Retourne le résolveur de clés de vérification pour le parser jjwt.
+     *
+     * @return le résolveur, partagé entre les threads
+     */
+    public SigningKeyResolverAdapter signingKeyResolver() {
+        return new SigningKeyResolverAdapter() {
+            @Override
+            public Key resolveSigningKey(JwsHeader header, io.jsonwebtoken.Claims claims) {
+                return resolveVerificationKey(header.getKeyId(), header.getAlgorithm());
+            }
+        };
+    }
+
+    /**
+     * Retourne le document JWKS des clés publiques (vide en HS256).
+     *
+     * @return le document JWKS sérialisable en JSON
+     */
+    public Map<String, Object> publicJwks() {
+        return keySet.jwks();
+    }
+
+    /**
+     * Fait d'une nouvelle clé ES256 la clé de signature courante : clé relue depuis les
+     * fichiers PEM, ou paire générée avec {@code app.jwt.ephemeral-keys}. Les clés publiques
+     * additionnelles sont relues.
+     * <p>
+     * Sans effet en HS256, ou si aucun fichier PEM n'a changé.
+     */
+    @Scheduled(cron = "${app.jwt.key-rotation-cron:-}")
+    public synchronized void rotate() {
+        if (jwtProperties.getSigningAlgorithm() != JwtSigningAlgorithm.ES256) {
+            log.debug("Rotation des clés JWT ignorée: algorithme {}", jwtProperties.getSigningAlgorithm());
+            return;
+        }
+
+        KeySet previous = keySet;
+        SigningKey next = nextEcKey();
+        Instant now = Instant.now();
+        Instant horizon = now.minus(jwtProperties.getExpirationDuration());
+
+        List<SigningKey> retired = new ArrayList<>();
+        if (!next.kid().equals(previous.current().kid())) {
+            retired.add(previous.current().retire(now));
+        }
+        // Une clé retirée reste acceptée tant que des tokens signés avec elle peuvent être valides
+        previous.verificationKeys().stream()
+                .filter(key -> key.retiredAt() != null && key.retiredAt().isAfter(horizon))
+                .forEach(retired::add);
+
+        KeySet updated = ecKeySet(next, retired);
+        if (kids(updated).equals(kids(previous))) {
+            log.debug("Rotation des clés JWT ignorée: clé {} inchangée", next.kid());
+            return;
+        }
+        keySet = updated;
+        log.info("Rotation des clés JWT: clé de signature {}, {} clé(s) de vérification",
+                next.kid(), updated.verificationKeys().size());
+    }
+
+    private Key resolveVerificationKey(String kid, String algorithm) {
+        KeySet current = keySet;
+        SigningKey key = null;
+
+        if (kid == null) {
+            // Tokens HS256 émis avant l'introduction du kid
+            if (current.secret() != null) {
+                key = currentKey();
+            }
+        } else {
+            key = current.verificationKeys().stream()
+                    .filter(candidate -> candidate.kid().equals(kid))
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        if (key == null) {
+            throw new SignatureException("Clé de signature JWT inconnue: " + kid);
+        }
+        // Refuse toute confusion d'algorithme (ex. HS256 signé avec une clé publique)
+        if (!key.algorithm().getValue().equals(algorithm)) {
+            throw new UnsupportedJwtException("Algorithme JWT inattendu: " + algorithm);
+        }
+        return key.verificationKey();
+    }
+
+    private KeySet initialKeySet() {
+        if (jwtProperties.getSigningAlgorithm() == JwtSigningAlgorithm.HS256) {
+            return hmacKeySet();
+        }
+
+        SigningKey key = nextEcKey();
+        if (jwtProperties.getPrivateKeyLocation() != null) {
+            log.info("Clé de signature JWT ES256 chargée (kid: {})", key.kid());
+        } else {
+            log.warn("Paire de clés ES256 générée en mémoire (kid: {}): les tokens émis sont "
+                    + "rejetés par les autres instances et invalidés au redémarrage.", key.kid());
+        }
+        return ecKeySet(key, List.of());
+    }
+
+    /**
+     * Construit un jeu de clés ES256 : la clé courante, les clés retirées en mémoire et les
+     * clés publiques additionnelles configurées, sans doublon.
+     */
+    private KeySet ecKeySet(SigningKey current, List<SigningKey> retired) {
+        Map<String, SigningKey> verificationKeys = new LinkedHashMap<>();
+        verificationKeys.put(current.kid(), current);
+        for (SigningKey key : retired) {
+            verificationKeys.putIfAbsent(key.kid(), key);
+        }
+        for (Resource location : jwtProperties.getAdditionalPublicKeyLocations()) {
+            SigningKey key = loadEcPublicKey(location);
+            verificationKeys.putIfAbsent(key.kid(), key);
+        }
+        List<SigningKey> keys = List.copyOf(verificationKeys.values());
+        return new KeySet(current, keys, null, toJwks(keys));
+    }
+
+    private static List<String> kids(KeySet keySet) {
+        return keySet.verificationKeys().stream().map(SigningKey::kid).toList();
+    }
+
+    /**
+     * Lit la clé ES256 configurée, ou en génère une si les clés éphémères sont autorisées.
+     *
+     * @throws IllegalStateException si aucune clé n'est configurée
+     */
+    private SigningKey nextEcKey() {
+        if (jwtProperties.getPrivateKeyLocation() != null) {
+            return loadEcKey(jwtProperties.getPrivateKeyLocation(), jwtProperties.getPublicKeyLocation());
+        }
+        if (jwtProperties.isEphemeralKeys()) {
+            return generateEcKey();
+        }
+        throw new IllegalStateException("ES256 requiert app.jwt.private-key-location et app.jwt.public-key-location "
+                + "(ou app.jwt.ephemeral-keys=true en développement, instance unique)");
+    }
+
+    private KeySet hmacKeySet() {
+        String secret = jwtProperties.getSecret();
+        Key hmacKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        SigningKey key = new SigningKey(keyId(hmacKey.getEncoded()), SignatureAlgorithm.HS256,
+                hmacKey, hmacKey, null);
+        return new KeySet(key, List.of(key), secret, new JWKSet().toJSONObject());
+    }
+
+    private static SigningKey generateEcKey() {
+        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        return ecKey(keyPair.getPrivate(), keyPair.getPublic());
+    }
+
+    private static SigningKey loadEcKey(Resource privateKeyLocation, Resource publicKeyLocation) {
+        if (publicKeyLocation == null) {
+            throw new IllegalStateException("app.jwt.public-key-location est requis avec app.jwt.private-key-location");
+        }
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            PrivateKey privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(readPem(privateKeyLocation)));
+            PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(readPem(publicKeyLocation)));
+            return ecKey(privateKey, publicKey);
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Impossible de charger les clés JWT ES256", e);
+        }
+    }
+
+    private static SigningKey loadEcPublicKey(Resource location) {
+        try {
+            PublicKey publicKey = KeyFactory.getInstance("EC").generatePublic(new X509EncodedKeySpec(readPem(location)));
+            return new SigningKey(keyId(publicKey.getEncoded()), SignatureAlgorithm.ES256, null, publicKey, null);
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Impossible de charger la clé publique JWT " + location, e);
+        }
+    }
+
+    private static SigningKey ecKey(PrivateKey privateKey, PublicKey publicKey) {
+        return new SigningKey(keyId(publicKey.getEncoded()), SignatureAlgorithm.ES256, privateKey, publicKey, null);
+    }
+
+    private static byte[] readPem(Resource resource) throws IOException {
+        try (InputStream input = resource.getInputStream()) {
+            String pem = new String(input.readAllBytes(), StandardCharsets.US_ASCII);
+            String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+            return Base64.getDecoder().decode(base64);
+        }
+    }
+
+    /**
+     * Identifiant de clé stable : empreinte SHA-256 (tronquée) de la clé encodée.
+     */
+    private static String keyId(byte[] encodedKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(encodedKey);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 16);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    private static Map<String, Object> toJwks(List<SigningKey> keys) {
+        List<JWK> jwks = keys.stream()
+                .filter(key -> key.verificationKey() instanceof ECPublicKey)
+                .map(key -> (JWK) new ECKey.Builder(Curve.P_256, (ECPublicKey) key.verificationKey())
+                        .keyID(key.kid())
+                        .algorithm(JWSAlgorithm.ES256)
+                        .keyUse(KeyUse.SIGNATURE)
+                        .build())
+                .toList();
+        return new JWKSet(jwks).toJSONObject();
+    }
+
+    /**
+     * Clé de signature identifiée par son {@code kid}.
+     *
+     * @param kid l'identifiant publié dans l'header des tokens
+     * @param algorithm l'algorithme de signature
+     * @param signingKey la clé de signature (secrète ou privée), null pour une clé publiée seule
+     * @param verificationKey la clé de vérification (secrète ou publique)
+     * @param retiredAt la date de retrait, null pour la clé courante ou une clé publiée
+     */
+    public record SigningKey(String kid, SignatureAlgorithm algorithm, Key signingKey,
+                             Key verificationKey, Instant retiredAt) {
+
+        SigningKey retire(Instant at) {
+            return new SigningKey(kid, algorithm, signingKey, verificationKey, at);
+        }
+    }
+
+    /**
+     * Jeu de clés immuable, remplacé atomiquement lors d'une rotation.
+     */
+    private record KeySet(SigningKey current, List<SigningKey> verificationKeys,
+                          String secret, Map<String, Object> jwks) {
+    }
+}
@@ -2,12 +2,16 @@ package com.wine.ecommerce.config.jwt;
 
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Configuration externalisée pour les propriétés JWT.
@@ -62,16 +66,92 @@ public class JwtProperties {
     private String headerName = "Authorization";
 
     /**
-     * Claim personnalisé pour les rôles utilisateur.
+     * Claim personnalisé pour les rôles utilisateur, encodés en masque de bits
+     * (voir {@link CompactClaims}).
      */
     @NotBlank(message = "Le claim des rôles ne peut pas être vide")
-    private String rolesClaim = "roles";
+    private String rolesClaim = "rol";
 
     /**
-     * Claim personnalisé pour l'ID utilisateur.
+     * Claim personnalisé pour l'ID utilisateur, encodé en Base64url sur 22 caractères.
      */
     @NotBlank(message = "Le claim de l'ID utilisateur ne peut pas être vide")
-    private String userIdClaim = "userId";
+    private String userIdClaim = "uid";
+
+    /**
+     * Taille maximale d'un token d'accès, en caractères.
+     * Un token plus long est refusé à l'émission et ignoré à la réception.
+     */
+    @Min(value = 256, message = "La taille maximale d'un token doit être d'au moins 256 caractères")
+    private int maxTokenLength = 1024;
+
+    /**
+     * Construit le principal directement depuis les claims vérifiés du token,
+     * sans recharger l'utilisateur en base à chaque requête.
+     * Les suspensions sont appliquées via le {@link TokenRevocationRegistry}.
+     */
+    private boolean statelessAuthentication = true;
+
+    /**
+     * Nombre maximal d'utilisateurs dont les révocations sont gardées en mémoire.
+     * Une entrée évincée est relue en base à la prochaine requête de l'utilisateur.
+     */
+    @Min(value = 100, message = "Le registre de révocation doit pouvoir suivre au moins 100 utilisateurs")
+    private int revocationMaxEntries = 10000;
+
+    /**
+     * Durée de conservation en mémoire d'une révocation lue en base : délai maximal
+     * d'application d'une révocation faite sur une autre instance.
+     */
+    @NotNull(message = "La durée de cache des révocations est obligatoire")
+    private Duration revocationCacheTtl = Duration.ofSeconds(30);
+
+    /**
+     * Nombre maximal de tokens vérifiés conservés en cache (0 pour désactiver le cache).
+     */
+    @Min(value = 0, message = "La taille du cache de tokens ne peut pas être négative")
+    private int verifiedTokenCacheSize = 10000;
+
+    /**
+     * Algorithme de signature des tokens d'accès.
+     */
+    @NotNull(message = "L'algorithme de signature JWT est obligatoire")
+    private JwtSigningAlgorithm signingAlgorithm = JwtSigningAlgorithm.HS256;
+
+    /**
+     * Clé privée EC au format PEM (PKCS#8) pour ES256, obligatoire sauf avec
+     * {@link #ephemeralKeys}. Relue à chaque rotation ({@link #keyRotationCron}).
+     */
+    private Resource privateKeyLocation;
+
+    /**
+     * Clé publique EC au format PEM (X.509) associée à la clé privée.
+     */
+    private Resource publicKeyLocation;
+
+    /**
+     * Clés publiques EC au format PEM (X.509) acceptées et publiées dans le JWKS en plus de
+     * la clé courante, relues au démarrage et à chaque rotation : la clé suivante, publiée
+     * sur toutes les instances avant de signer avec elle, et la clé précédente tant que des
+     * tokens signés avec elle peuvent être valides ({@link #expiration}).
+     */
+    private List<Resource> additionalPublicKeyLocations = new ArrayList<>();
+
+    /**
+     * En ES256 sans fichiers PEM, génère une paire de clés en mémoire au démarrage.
+     * Réservé au développement en instance unique : chaque instance aurait sa propre clé
+     * et rejetterait les tokens émis par les autres, et tout redémarrage les invalide.
+     */
+    private boolean ephemeralKeys = false;
+
+    /**
+     * Expression cron de rotation des clés ES256 ("-" pour désactiver) : les fichiers PEM
+     * sont relus et une clé modifiée devient la clé de signature ; avec
+     * {@link #ephemeralKeys}, une nouvelle paire est générée. Les clés retirées restent
+     * publiées et acceptées jusqu'à l'expiration des tokens signés.
+     */
+    @NotBlank(message = "L'expression cron de rotation des clés ne peut pas être vide")
+    private String keyRotationCron = "-";
 
     /**
      * Retourne la durée d'expiration sous forme de Duration.
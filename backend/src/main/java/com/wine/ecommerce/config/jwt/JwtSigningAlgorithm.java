@@ -0,0 +1,29 @@
+package com.wine.ecommerce.config.jwt;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+/**
+ * Algorithmes de signature des tokens JWT supportés.
+ */
+public enum JwtSigningAlgorithm {
+
+    /**
+     * HMAC-SHA256 avec le secret partagé : tout vérificateur doit détenir le secret.
+     */
+    HS256(SignatureAlgorithm.HS256),
+
+    /**
+     * ECDSA P-256 : seule la clé publique, publiée en JWKS, est nécessaire à la vérification.
+     */
+    ES256(SignatureAlgorithm.ES256);
+
+    private final SignatureAlgorithm signatureAlgorithm;
+
+    JwtSigningAlgorithm(SignatureAlgorithm signatureAlgorithm) {
+        this.signatureAlgorithm = signatureAlgorithm;
+    }
+
+    public SignatureAlgorithm getSignatureAlgorithm() {
+        return signatureAlgorithm;
+    }
+}
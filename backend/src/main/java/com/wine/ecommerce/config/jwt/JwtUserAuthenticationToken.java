@@ -0,0 +1,54 @@
+package com.wine.ecommerce.config.jwt;
+
+import com.wine.ecommerce.user.entities.UserPrincipal;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.Collection;
+
+/**
+ * Authentification produite par la chaîne JWT : le principal est un {@link UserPrincipal}
+ * et le JWT décodé reste accessible comme justificatif.
+ * <p>
+ * Les autorités sont celles du principal, sans la copie défensive faite par
+ * {@link AbstractAuthenticationToken} : en mode sans état, il s'agit des collections
+ * immuables partagées de {@link RoleAuthorities}.
+ */
+public class JwtUserAuthenticationToken extends AbstractAuthenticationToken {
+
+    private final UserPrincipal principal;
+    private final Jwt token;
+
+    public JwtUserAuthenticationToken(UserPrincipal principal, Jwt token) {
+        super(null);
+        this.principal = principal;
+        this.token = token;
+        setAuthenticated(true);
+    }
+
+    @Override
+    public UserPrincipal getPrincipal() {
+        return principal;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<GrantedAuthority> getAuthorities() {
+        return (Collection<GrantedAuthority>) principal.getAuthorities();
+    }
+
+    @Override
+    public Jwt getCredentials() {
+        return token;
+    }
+
+    public Jwt getToken() {
+        return token;
+    }
+
+    @Override
+    public String getName() {
+        return principal.getUsername();
+    }
+}
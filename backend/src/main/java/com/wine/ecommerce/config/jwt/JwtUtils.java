@@ -2,20 +2,21 @@ package com.wine.ecommerce.config.jwt;
 
 import com.wine.ecommerce.config.jwt.exceptions.JwtTokenException;
 import com.wine.ecommerce.user.entities.UserPrincipal;
+import com.wine.ecommerce.user.enums.UserRole;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
-import javax.crypto.SecretKey;
 import java.time.Instant;
+import java.time.temporal.ChronoField;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -24,26 +25,67 @@ import java.util.stream.Collectors;
  * Utilitaire pour la gestion des tokens JWT dans l'application Wine E-commerce.
  * 
  * Cette classe fournit toutes les fonctionnalités nécessaires pour :
- * - Génération de tokens JWT avec claims personnalisés
+ * - Génération de tokens JWT avec claims personnalisés, signés par la clé courante
+ *   du {@link JwtKeyManager} (HS256 ou ES256, identifiée par son kid)
  * - Validation et parsing sécurisé des tokens
  * - Extraction d'informations utilisateur depuis les tokens
  * - Gestion des erreurs avec exceptions typées
  */
 @Component
-@RequiredArgsConstructor
 public class JwtUtils {
     
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
     
     private final JwtProperties jwtProperties;
+    private final JwtClaimsContext claimsContext;
+    private final TokenRevocationRegistry revocationRegistry;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final JwtKeyManager keyManager;
+    private final Counter signatureVerifications;
+    private final Counter contextHits;
+    private final DistributionSummary tokenSize;
 
     /**
-     * Génère la clé de signature sécurisée.
+     * Parser compilé, construit une seule fois puis partagé entre les threads.
+     * Les clés de vérification sont résolues par {@code kid} via le {@link JwtKeyManager}.
+     */
+    private volatile IssuerParser issuerParser;
+
+    public JwtUtils(JwtProperties jwtProperties, JwtClaimsContext claimsContext,
+                    TokenRevocationRegistry revocationRegistry, VerifiedTokenCache verifiedTokenCache,
+                    JwtKeyManager keyManager, MeterRegistry meterRegistry) {
+        this.jwtProperties = jwtProperties;
+        this.claimsContext = claimsContext;
+        this.revocationRegistry = revocationRegistry;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.keyManager = keyManager;
+        this.signatureVerifications = Counter.builder("jwt.signature.verifications")
+                .description("Nombre de vérifications de signature JWT effectuées")
+                .register(meterRegistry);
+        this.contextHits = Counter.builder("jwt.claims.context.hits")
+                .description("Nombre de lectures de claims déjà vérifiés dans la requête courante")
+                .register(meterRegistry);
+        this.tokenSize = DistributionSummary.builder("jwt.token.size")
+                .description("Taille des tokens d'accès émis")
+                .baseUnit("chars")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Retourne le parser courant, en le reconstruisant si l'issuer configuré a changé.
      *
-     * @return SecretKey pour signer les tokens
+     * @return le parser JWT à jour
      */
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes());
+    private JwtParser getParser() {
+        String issuer = jwtProperties.getIssuer();
+
+        IssuerParser current = issuerParser;
+        if (current == null || !current.issuer().equals(issuer)) {
+            current = IssuerParser.create(issuer, keyManager);
+            issuerParser = current;
+            logger.debug("Parser JWT (re)construit pour l'issuer: {}", issuer);
+        }
+        return current.parser();
     }
 
     /**
@@ -55,8 +97,17 @@ public class JwtUtils {
      */
     public String generateToken(Authentication authentication) {
         validateAuthentication(authentication);
-        
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        return generateToken((UserDetails) authentication.getPrincipal());
+    }
+
+    /**
+     * Génère un token JWT portant les rôles et l'ID de l'utilisateur.
+     *
+     * @param userDetails les détails de l'utilisateur
+     * @return token JWT signé
+     * @throws IllegalArgumentException si le username est null ou vide
+     */
+    public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = buildClaimsFromUserDetails(userDetails);
         
         return generateTokenWithClaims(userDetails.getUsername(), claims);
@@ -88,12 +139,15 @@ public class JwtUtils {
         Instant now = Instant.now();
         Instant expiration = now.plus(jwtProperties.getExpirationDuration());
         
+        JwtKeyManager.SigningKey signingKey = keyManager.currentKey();
         JwtBuilder builder = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.kid())
                 .setSubject(username)
                 .setIssuer(jwtProperties.getIssuer())
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256);
+                .claim(CompactClaims.ISSUED_AT_MILLIS_CLAIM, now.get(ChronoField.MILLI_OF_SECOND))
+                .signWith(signingKey.signingKey(), signingKey.algorithm());
 
         // Ajouter les claims personnalisés
         if (customClaims != null && !customClaims.isEmpty()) {
@@ -101,6 +155,7 @@ public class JwtUtils {
         }
 
         String token = builder.compact();
+        checkTokenLength(token);
         
         logger.debug("Token JWT généré pour l'utilisateur: {} avec expiration: {}", username, expiration);
         return token;
@@ -119,13 +174,15 @@ public class JwtUtils {
         Instant now = Instant.now();
         Instant expiration = now.plus(jwtProperties.getRefreshExpirationDuration());
         
+        JwtKeyManager.SigningKey signingKey = keyManager.currentKey();
         String refreshToken = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.kid())
                 .setSubject(username)
                 .setIssuer(jwtProperties.getIssuer())
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(expiration))
                 .claim("type", "refresh")
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey.signingKey(), signingKey.algorithm())
                 .compact();
         
         logger.debug("Refresh token généré pour l'utilisateur: {} avec expiration: {}", username, expiration);
@@ -140,18 +197,74 @@ public class JwtUtils {
      * @throws JwtTokenException si le token est invalide
      */
     public Claims parseAndValidateToken(String token) throws JwtTokenException {
+        return parseAndValidateJws(token).getBody();
+    }
+
+    /**
+     * Parse et valide un token JWT, retournant le JWS complet (header et claims).
+     * <p>
+     * La signature n'est vérifiée qu'une fois par requête HTTP : les appels suivants
+     * pour le même token sont servis depuis le {@link JwtClaimsContext}. Entre les requêtes,
+     * un token déjà vérifié est servi par le {@link VerifiedTokenCache} jusqu'à son expiration.
+     *
+     * @param token le token JWT à valider
+     * @return le JWS vérifié
+     * @throws JwtTokenException si le token est invalide
+     */
+    public Jws<Claims> parseAndValidateJws(String token) throws JwtTokenException {
         validateTokenInput(token);
-        
+
+        Optional<Jws<Claims>> verified = claimsContext.get(token);
+        if (verified.isPresent()) {
+            contextHits.increment();
+            return verified.get();
+        }
+
+        Jws<Claims> jws = verifiedTokenCache.get(token);
+        if (jws == null) {
+            jws = verifySignature(token);
+            checkNotRevoked(jws.getBody());
+            verifiedTokenCache.put(token, jws);
+        } else {
+            checkNotRevoked(jws.getBody());
+        }
+
+        claimsContext.store(token, jws);
+        return jws;
+    }
+
+    /**
+     * Révoque les tokens d'accès d'un utilisateur. Les tokens déjà en cache de vérification
+     * sont rejetés par la vérification de révocation faite à chaque lecture.
+     *
+     * @param userId l'ID de l'utilisateur
+     */
+    public void revokeUserTokens(UUID userId) {
+        revocationRegistry.revokeUserTokens(userId);
+    }
+
+    /**
+     * Rejette les tokens émis avant une révocation (suspension, changement de rôles, déconnexion).
+     */
+    private void checkNotRevoked(Claims claims) throws JwtTokenException {
+        Instant issuedAt = CompactClaims.issuedAt(claims.getIssuedAt(), claims.get(CompactClaims.ISSUED_AT_MILLIS_CLAIM));
+        if (revocationRegistry.isRevoked(readUserId(claims), issuedAt)) {
+            logger.warn("Token JWT révoqué pour l'utilisateur: {}", claims.getSubject());
+            throw JwtTokenException.revoked();
+        }
+    }
+
+    /**
+     * Vérifie la signature du token et décode ses claims.
+     */
+    private Jws<Claims> verifySignature(String token) throws JwtTokenException {
+        signatureVerifications.increment();
+
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .requireIssuer(jwtProperties.getIssuer())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            Jws<Claims> jws = getParser().parseClaimsJws(token);
             
-            logger.debug("Token JWT validé avec succès pour l'utilisateur: {}", claims.getSubject());
-            return claims;
+            logger.debug("Token JWT validé avec succès pour l'utilisateur: {}", jws.getBody().getSubject());
+            return jws;
             
         } catch (ExpiredJwtException e) {
             logger.warn("Token JWT expiré pour l'utilisateur: {}", e.getClaims().getSubject());
@@ -197,7 +310,14 @@ public class JwtUtils {
     public List<String> extractRoles(String token) throws JwtTokenException {
         Claims claims = parseAndValidateToken(token);
         Object rolesObj = claims.get(jwtProperties.getRolesClaim());
-        
+        if (rolesObj instanceof Number mask) {
+            return CompactClaims.decodeRoles(mask.intValue()).stream()
+                    .map(UserRole::name)
+                    .collect(Collectors.toList());
+        }
+
+        // Tokens émis avant l'encodage compact
+        rolesObj = claims.get(CompactClaims.LEGACY_ROLES_CLAIM);
         if (rolesObj instanceof List) {
             return (List<String>) rolesObj;
         } else if (rolesObj instanceof String) {
@@ -214,21 +334,8 @@ public class JwtUtils {
      * @return l'ID de l'utilisateur ou null si absent
      * @throws JwtTokenException si le token est invalide
      */
-    public Long extractUserId(String token) throws JwtTokenException {
-        Claims claims = parseAndValidateToken(token);
-        Object userIdObj = claims.get(jwtProperties.getUserIdClaim());
-        
-        if (userIdObj instanceof Number) {
-            return ((Number) userIdObj).longValue();
-        } else if (userIdObj instanceof String) {
-            try {
-                return Long.parseLong((String) userIdObj);
-            } catch (NumberFormatException e) {
-                logger.warn("ID utilisateur invalide dans le token: {}", userIdObj);
-            }
-        }
-        
-        return null;
+    public UUID extractUserId(String token) throws JwtTokenException {
+        return readUserId(parseAndValidateToken(token));
     }
 
     /**
@@ -277,27 +384,47 @@ public class JwtUtils {
     // === MÉTHODES PRIVÉES DE VALIDATION ET UTILITAIRES ===
 
     /**
-     * Construit les claims depuis un UserDetails.
+     * Construit les claims compacts depuis un UserDetails : masque des rôles et ID court.
      */
     private Map<String, Object> buildClaimsFromUserDetails(UserDetails userDetails) {
-        Map<String, Object> claims = new HashMap<>();
-        
-        // Ajouter les rôles
-        List<String> roles = userDetails.getAuthorities()
-                .stream()
-                .map(GrantedAuthority::getAuthority)
-                .map(role -> role.startsWith("ROLE_") ? role.substring(5) : role)
-                .collect(Collectors.toList());
-        claims.put(jwtProperties.getRolesClaim(), roles);
-        
+        Map<String, Object> claims = new HashMap<>(4);
+        claims.put(jwtProperties.getRolesClaim(), CompactClaims.encodeRoles(userDetails.getAuthorities()));
+
         // Ajouter l'ID utilisateur si disponible
-        if (userDetails instanceof UserPrincipal userPrincipal) {
-            claims.put(jwtProperties.getUserIdClaim(), userPrincipal.getId());
+        if (userDetails instanceof UserPrincipal userPrincipal && userPrincipal.getId() != null) {
+            claims.put(jwtProperties.getUserIdClaim(), CompactClaims.encodeUserId(userPrincipal.getId()));
         }
         
         return claims;
     }
 
+    /**
+     * Lit l'ID utilisateur (UUID) depuis les claims, sous forme compacte ou historique.
+     */
+    private UUID readUserId(Claims claims) {
+        Object userIdObj = claims.get(jwtProperties.getUserIdClaim());
+        if (userIdObj == null) {
+            userIdObj = claims.get(CompactClaims.LEGACY_USER_ID_CLAIM);
+        }
+        try {
+            return CompactClaims.decodeUserId(userIdObj);
+        } catch (IllegalArgumentException e) {
+            logger.warn("ID utilisateur invalide dans le token: {}", userIdObj);
+            return null;
+        }
+    }
+
+    /**
+     * Refuse d'émettre un token dépassant la taille maximale acceptée à la réception.
+     */
+    private void checkTokenLength(String token) {
+        tokenSize.record(token.length());
+        if (token.length() > jwtProperties.getMaxTokenLength()) {
+            throw new IllegalStateException("Token JWT de " + token.length()
+                    + " caractères, maximum autorisé: " + jwtProperties.getMaxTokenLength());
+        }
+    }
+
     /**
      * Valide l'objet Authentication.
      */
@@ -330,4 +457,21 @@ public class JwtUtils {
             throw JwtTokenException.invalid();
         }
     }
+
+    /**
+     * Parser JWT associé à un issuer.
+     * <p>
+     * Le {@link JwtParser} construit par jjwt est immuable et thread-safe :
+     * une seule instance peut donc être partagée par toutes les requêtes.
+     */
+    private record IssuerParser(String issuer, JwtParser parser) {
+
+        static IssuerParser create(String issuer, JwtKeyManager keyManager) {
+            JwtParser parser = Jwts.parserBuilder()
+                    .setSigningKeyResolver(keyManager.signingKeyResolver())
+                    .requireIssuer(issuer)
+                    .build();
+            return new IssuerParser(issuer, parser);
+        }
+    }
 }
\ No newline at end of file
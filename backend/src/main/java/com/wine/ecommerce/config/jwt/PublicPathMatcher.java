@@ -0,0 +1,72 @@
+package com.wine.ecommerce.config.jwt;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Matcher de chemins publics précompilé en tableaux de préfixes et de chemins exacts.
+ * <p>
+ * Comme pour la chaîne de sécurité, un motif {@code /prefixe/**} correspond à
+ * {@code /prefixe} lui-même et à tout chemin commençant par {@code /prefixe/} ; les autres
+ * motifs correspondent à un chemin exact. La recherche se limite à un
+ * {@link String#startsWith(String)} par motif, sans expression régulière ni allocation.
+ */
+final class PublicPathMatcher {
+
+    private static final String PREFIX_WILDCARD = "/**";
+
+    /** Préfixes sans le {@code /} final : {@code /auth} pour {@code /auth/**}. */
+    private final String[] prefixes;
+    private final String[] exactPaths;
+
+    private PublicPathMatcher(String[] prefixes, String[] exactPaths) {
+        this.prefixes = prefixes;
+        this.exactPaths = exactPaths;
+    }
+
+    /**
+     * Compile un matcher à partir des motifs donnés.
+     *
+     * @param patterns les motifs exacts ou préfixes ({@code /chemin/**})
+     * @return le matcher compilé
+     * @throws IllegalArgumentException si un motif utilise un joker non supporté
+     */
+    static PublicPathMatcher compile(Collection<String> patterns) {
+        List<String> prefixes = new ArrayList<>();
+        List<String> exactPaths = new ArrayList<>();
+        for (String pattern : patterns) {
+            boolean prefix = pattern.endsWith(PREFIX_WILDCARD);
+            String literal = prefix ? pattern.substring(0, pattern.length() - PREFIX_WILDCARD.length()) : pattern;
+            if (literal.indexOf('*') >= 0 || literal.indexOf('?') >= 0) {
+                throw new IllegalArgumentException("Motif de chemin public non supporté: " + pattern);
+            }
+            (prefix ? prefixes : exactPaths).add(literal);
+        }
+        return new PublicPathMatcher(prefixes.toArray(String[]::new), exactPaths.toArray(String[]::new));
+    }
+
+    /**
+     * Indique si le chemin correspond à l'un des motifs publics.
+     *
+     * @param path le chemin de la requête
+     * @return true si le chemin est public
+     */
+    boolean matches(String path) {
+        if (path == null) {
+            return false;
+        }
+        for (String prefix : prefixes) {
+            if (path.startsWith(prefix)
+                    && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/')) {
+                return true;
+            }
+        }
+        for (String exactPath : exactPaths) {
+            if (path.equals(exactPath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,96 @@
+package com.wine.ecommerce.config.jwt;
+
+import com.wine.ecommerce.user.enums.UserRole;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Collections d'autorités précalculées pour chaque combinaison de {@link UserRole}.
+ * <p>
+ * L'énumération est petite et fixe : les {@code 2^n} combinaisons possibles sont construites
+ * une seule fois au chargement de la classe, sous forme de listes immuables partagées.
+ * Le converter JWT retourne donc la même instance pour tous les tokens portant les mêmes
+ * rôles, sans normalisation de chaînes ni allocation par requête.
+ */
+final class RoleAuthorities {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+    private static final UserRole[] ROLES = UserRole.values();
+    private static final int ALL_ROLES_MASK = (1 << ROLES.length) - 1;
+
+    private static final List<List<GrantedAuthority>> BY_MASK = buildCombinations();
+    private static final Map<String, UserRole> BY_NAME = buildNameIndex();
+
+    private RoleAuthorities() {
+    }
+
+    /**
+     * Retourne les autorités partagées correspondant à un masque de rôles.
+     * Les bits ne correspondant à aucun rôle connu sont ignorés.
+     *
+     * @param mask le masque des rôles (voir {@link CompactClaims})
+     * @return la liste immuable des autorités
+     */
+    static List<GrantedAuthority> forMask(int mask) {
+        return BY_MASK.get(mask & ALL_ROLES_MASK);
+    }
+
+    /**
+     * Retourne les autorités partagées correspondant à des noms de rôles
+     * ({@code "ADMIN"} ou {@code "ROLE_ADMIN"}, casse indifférente).
+     *
+     * @param roleNames les noms de rôles du claim historique {@code roles}
+     * @return la liste immuable des autorités, ou null si un nom ne correspond à aucun rôle connu
+     */
+    static List<GrantedAuthority> forNames(List<?> roleNames) {
+        int mask = 0;
+        for (Object roleName : roleNames) {
+            UserRole role = roleName instanceof String name ? resolve(name) : null;
+            if (role == null) {
+                return null;
+            }
+            mask |= 1 << role.ordinal();
+        }
+        return BY_MASK.get(mask);
+    }
+
+    private static UserRole resolve(String name) {
+        UserRole role = BY_NAME.get(name);
+        return role != null ? role : BY_NAME.get(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    private static List<List<GrantedAuthority>> buildCombinations() {
+        // Une seule instance d'autorité par rôle, partagée par toutes les combinaisons
+        GrantedAuthority[] authorities = new GrantedAuthority[ROLES.length];
+        for (UserRole role : ROLES) {
+            authorities[role.ordinal()] = new SimpleGrantedAuthority(role.getAuthority());
+        }
+
+        List<List<GrantedAuthority>> combinations = new ArrayList<>(ALL_ROLES_MASK + 1);
+        for (int mask = 0; mask <= ALL_ROLES_MASK; mask++) {
+            List<GrantedAuthority> combination = new ArrayList<>(Integer.bitCount(mask));
+            for (UserRole role : ROLES) {
+                if ((mask & (1 << role.ordinal())) != 0) {
+                    combination.add(authorities[role.ordinal()]);
+                }
+            }
+            combinations.add(List.copyOf(combination));
+        }
+        return List.copyOf(combinations);
+    }
+
+    private static Map<String, UserRole> buildNameIndex() {
+        Map<String, UserRole> index = new HashMap<>();
+        for (UserRole role : ROLES) {
+            index.put(role.name(), role);
+            index.put(ROLE_PREFIX + role.name(), role);
+        }
+        return Map.copyOf(index);
+    }
+}
@@ -0,0 +1,15 @@
+package com.wine.ecommerce.config.jwt;
+
+import java.util.UUID;
+
+/**
+ * Demande de révocation des tokens d'accès d'un utilisateur, publiée par les services
+ * qui modifient son statut, ses rôles ou son email.
+ * <p>
+ * La révocation est appliquée par {@link TokenRevocationListener} après le commit de la
+ * transaction de publication : une modification annulée ne déconnecte pas l'utilisateur.
+ *
+ * @param userId l'identifiant de l'utilisateur
+ */
+public record TokenRevocationEvent(UUID userId) {
+}
@@ -0,0 +1,22 @@
+package com.wine.ecommerce.config.jwt;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Applique les {@link TokenRevocationEvent} une fois la transaction validée, ou aussitôt
+ * si l'événement est publié hors transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationListener {
+
+    private final JwtUtils jwtUtils;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTokenRevocation(TokenRevocationEvent event) {
+        jwtUtils.revokeUserTokens(event.userId());
+    }
+}
@@ -0,0 +1,90 @@
+package com.wine.ecommerce.config.jwt;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Registre des révocations de tokens d'accès.
+ * <p>
+ * Chaque changement de statut ou de rôles d'un utilisateur, et chaque déconnexion,
+ * enregistre un horodatage : tout token de cet utilisateur émis avant cet instant est
+ * rejeté. Cela permet une authentification sans état (principal construit depuis les
+ * claims) tout en appliquant une suspension, sans recharger l'utilisateur à chaque requête.
+ * <p>
+ * L'horodatage est persisté par le {@link TokenRevocationStore} (colonne
+ * {@code users.tokens_valid_after}) : il survit aux redémarrages et est vu par toutes les
+ * instances. Le registre n'en garde qu'un cache borné ({@code app.jwt.revocation-max-entries}
+ * utilisateurs) ; une entrée évincée ou plus ancienne que {@code app.jwt.revocation-cache-ttl}
+ * est relue en base. Une révocation faite sur une autre instance est donc appliquée au plus
+ * tard après ce délai ; sur l'instance qui révoque, elle l'est immédiatement.
+ * <p>
+ * L'instant d'émission est comparé à la milliseconde (voir
+ * {@link CompactClaims#ISSUED_AT_MILLIS_CLAIM}) : un token obtenu juste après une
+ * déconnexion, dans la même seconde, reste valide.
+ * <p>
+ * Métriques exposées sous le nom {@code jwt.revocations} (hits, misses, évictions, taille).
+ */
+@Slf4j
+@Component
+public class TokenRevocationRegistry {
+
+    private final TokenRevocationStore store;
+    private final LoadingCache<UUID, Instant> tokensValidAfter;
+
+    public TokenRevocationRegistry(JwtProperties jwtProperties, TokenRevocationStore store,
+                                   MeterRegistry meterRegistry) {
+        this.store = store;
+        this.tokensValidAfter = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getRevocationMaxEntries())
+                .expireAfterWrite(jwtProperties.getRevocationCacheTtl())
+                .recordStats()
+                .build(store::findTokensValidAfter);
+        CaffeineCacheMetrics.monitor(meterRegistry, tokensValidAfter, "jwt.revocations");
+    }
+
+    /**
+     * Révoque tous les tokens d'accès émis jusqu'à maintenant pour un utilisateur.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     */
+    public void revokeUserTokens(UUID userId) {
+        if (userId == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        store.revokeTokensIssuedBefore(userId, now);
+        tokensValidAfter.asMap().merge(userId, now, (previous, current) -> current.isAfter(previous) ? current : previous);
+        log.debug("Tokens de l'utilisateur {} révoqués jusqu'à {}", userId, now);
+    }
+
+    /**
+     * Indique si un token doit être rejeté.
+     * <p>
+     * Si la révocation ne peut être lue en base, le token est rejeté.
+     *
+     * @param userId l'identifiant de l'utilisateur porté par le token (peut être null)
+     * @param issuedAt l'instant d'émission du token, à la milliseconde si le token le porte
+     * @return true si le token a été émis avant une révocation
+     */
+    public boolean isRevoked(UUID userId, Instant issuedAt) {
+        if (issuedAt == null) {
+            return true;
+        }
+        if (userId == null) {
+            return false;
+        }
+        try {
+            return issuedAt.isBefore(tokensValidAfter.get(userId));
+        } catch (RuntimeException e) {
+            log.error("Révocations de l'utilisateur {} illisibles, token rejeté", userId, e);
+            return true;
+        }
+    }
+}
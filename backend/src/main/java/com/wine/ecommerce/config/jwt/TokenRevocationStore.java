@@ -0,0 +1,31 @@
+package com.wine.ecommerce.config.jwt;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Stockage persistant des révocations de tokens d'accès, partagé par toutes les instances.
+ * <p>
+ * Le {@link TokenRevocationRegistry} n'en garde qu'un cache borné : une entrée absente ou
+ * évincée est relue ici.
+ */
+public interface TokenRevocationStore {
+
+    /**
+     * Retourne l'instant avant lequel les tokens d'un utilisateur sont rejetés.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @return {@link Instant#EPOCH} si ses tokens n'ont jamais été révoqués,
+     *         {@link Instant#MAX} si l'utilisateur n'existe plus
+     */
+    Instant findTokensValidAfter(UUID userId);
+
+    /**
+     * Rejette les tokens d'un utilisateur émis avant un instant. Une révocation plus
+     * récente déjà enregistrée est conservée.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @param instant l'instant de révocation
+     */
+    void revokeTokensIssuedBefore(UUID userId, Instant instant);
+}
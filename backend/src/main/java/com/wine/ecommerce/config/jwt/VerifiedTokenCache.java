@@ -0,0 +1,116 @@
+package com.wine.ecommerce.config.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache borné des tokens JWT déjà vérifiés.
+ * <p>
+ * Un navigateur réutilise le même token d'accès pour des centaines de requêtes : les
+ * claims vérifiés sont conservés jusqu'à l'expiration du token, ce qui évite la
+ * vérification HMAC et le décodage Base64/JSON sur les requêtes suivantes.
+ * <p>
+ * La clé est l'empreinte SHA-256 du token complet (header, payload et signature) :
+ * un token altéré produit une autre clé et repasse par la vérification.
+ * Les révocations restent appliquées à chaque lecture par {@link JwtUtils} : une
+ * déconnexion n'a pas à retirer les tokens de l'utilisateur du cache.
+ * <p>
+ * Métriques exposées sous le nom {@code jwt.verified-tokens} (hits, misses, évictions, taille).
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    });
+
+    private final Cache<TokenDigest, Jws<Claims>> cache;
+    private final boolean enabled;
+
+    public VerifiedTokenCache(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        this.enabled = jwtProperties.getVerifiedTokenCacheSize() > 0;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(Math.max(jwtProperties.getVerifiedTokenCacheSize(), 0))
+                .expireAfter(new UntilTokenExpiration())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+    }
+
+    /**
+     * Retourne le token vérifié mis en cache.
+     *
+     * @param token le token JWT brut
+     * @return le JWS vérifié, ou null si absent
+     */
+    public Jws<Claims> get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        return cache.getIfPresent(TokenDigest.of(token));
+    }
+
+    /**
+     * Met en cache un token dont la signature vient d'être vérifiée.
+     *
+     * @param token le token JWT brut
+     * @param jws le résultat de la vérification
+     */
+    public void put(String token, Jws<Claims> jws) {
+        if (enabled && jws.getBody().getExpiration() != null) {
+            cache.put(TokenDigest.of(token), jws);
+        }
+    }
+
+    /**
+     * Empreinte SHA-256 d'un token, stockée sur quatre longs pour limiter les allocations.
+     */
+    private record TokenDigest(long a, long b, long c, long d) {
+
+        static TokenDigest of(String token) {
+            byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+            ByteBuffer buffer = ByteBuffer.wrap(hash);
+            return new TokenDigest(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+        }
+    }
+
+    /**
+     * Politique d'expiration : une entrée vit jusqu'au claim {@code exp} du token.
+     */
+    private static final class UntilTokenExpiration implements Expiry<TokenDigest, Jws<Claims>> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, Jws<Claims> value, long currentTime) {
+            Date expiration = value.getBody().getExpiration();
+            long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, Jws<Claims> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, Jws<Claims> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -65,6 +65,15 @@ public class JwtTokenException extends UnauthorizedException {
         return new JwtTokenException(ErrorCode.JWT_CLAIMS_EMPTY);
     }
 
+    /**
+     * Constructeur pour token révoqué.
+     *
+     * @return exception pour token révoqué
+     */
+    public static JwtTokenException revoked() {
+        return new JwtTokenException(ErrorCode.JWT_TOKEN_REVOKED);
+    }
+
     /**
      * Constructeur avec code d'erreur.
      *
@@ -0,0 +1,61 @@
+package com.wine.ecommerce.config.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Calibre le facteur de coût BCrypt sur le matériel courant.
+ * <p>
+ * Le temps d'un hachage est mesuré au coût minimal, puis extrapolé : chaque incrément
+ * du coût double le temps de calcul. Le coût retenu est le plus élevé dont le temps
+ * estimé reste sous le temps cible, borné par les coûts minimal et maximal.
+ */
+@Slf4j
+final class BCryptWorkFactorCalibrator {
+
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private BCryptWorkFactorCalibrator() {
+    }
+
+    /**
+     * Détermine le facteur de coût adapté au temps cible.
+     *
+     * @param targetHashTime le temps de hachage visé
+     * @param minStrength le coût minimal accepté
+     * @param maxStrength le coût maximal accepté
+     * @return le facteur de coût retenu
+     */
+    static int calibrate(Duration targetHashTime, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            encoder.encode(SAMPLE_PASSWORD);
+        }
+
+        long[] samples = new long[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        long medianNanos = samples[MEASURED_ROUNDS / 2];
+
+        int strength = minStrength;
+        long estimatedNanos = medianNanos;
+        while (strength < maxStrength && estimatedNanos * 2 <= targetHashTime.toNanos()) {
+            strength++;
+            estimatedNanos *= 2;
+        }
+
+        log.info("Coût BCrypt calibré à {} (~{} ms par hachage, cible {} ms, mesure au coût {}: {} ms)",
+                strength, estimatedNanos / 1_000_000, targetHashTime.toMillis(),
+                minStrength, medianNanos / 1_000_000);
+        return strength;
+    }
+}
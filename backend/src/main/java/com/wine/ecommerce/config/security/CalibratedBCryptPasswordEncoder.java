@@ -0,0 +1,42 @@
+package com.wine.ecommerce.config.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Encodeur BCrypt qui relève au coût cible les hashs stockés plus faibles.
+ * <p>
+ * Un hash n'est jamais ré-encodé à un coût inférieur : une calibration faussée par un
+ * démarrage chargé, ou deux instances calibrées différemment, ne peuvent ni affaiblir
+ * les hashs stockés ni les ré-encoder à chaque connexion.
+ */
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    // Format d'un hash BCrypt : $2a$10$... (le coût occupe les positions 4 et 5)
+    private static final int COST_OFFSET = 4;
+
+    private final int strength;
+
+    public CalibratedBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < COST_OFFSET + 3
+                || encodedPassword.charAt(COST_OFFSET + 2) != '$') {
+            return false;
+        }
+        char tens = encodedPassword.charAt(COST_OFFSET);
+        char units = encodedPassword.charAt(COST_OFFSET + 1);
+        if (!Character.isDigit(tens) || !Character.isDigit(units)) {
+            return false;
+        }
+        int cost = (tens - '0') * 10 + (units - '0');
+        return cost < strength;
+    }
+}
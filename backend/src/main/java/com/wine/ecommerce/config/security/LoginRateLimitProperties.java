@@ -0,0 +1,59 @@
+package com.wine.ecommerce.config.security;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration externalisée de la limitation des tentatives de connexion.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.security.login-rate-limit")
+@Validated
+public class LoginRateLimitProperties {
+
+    /**
+     * Active la limitation des tentatives de connexion.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Durée de la fenêtre glissante.
+     */
+    @NotNull(message = "La fenêtre de limitation est obligatoire")
+    private Duration window = Duration.ofMinutes(1);
+
+    /**
+     * Nombre maximal de tentatives par email sur la fenêtre.
+     */
+    @Min(value = 1, message = "La limite par email doit être d'au moins 1")
+    @Max(value = 65535, message = "La limite par email ne peut pas dépasser 65535")
+    private int maxAttemptsPerEmail = 10;
+
+    /**
+     * Nombre maximal de tentatives par adresse IP sur la fenêtre.
+     */
+    @Min(value = 1, message = "La limite par adresse IP doit être d'au moins 1")
+    @Max(value = 65535, message = "La limite par adresse IP ne peut pas dépasser 65535")
+    private int maxAttemptsPerIp = 100;
+
+    /**
+     * Nombre de clés distinctes (emails ou adresses IP) qu'une fenêtre doit pouvoir absorber
+     * sans bloquer d'utilisateurs légitimes, y compris sous une attaque par emails aléatoires.
+     * <p>
+     * La largeur de chaque sketch en découle : {@code 8 x clés / limite} compteurs par ligne,
+     * arrondis à la puissance de deux supérieure, soit au plus 1/8 de la limite par compteur en
+     * moyenne. Avec 250 000 clés : environ 4 Mo pour les emails (limite 10), 512 Ko pour les IP
+     * (limite 100).
+     */
+    @Min(value = 1000, message = "Le sketch doit absorber au moins 1000 clés par fenêtre")
+    @Max(value = 10_000_000, message = "Le sketch ne peut pas dimensionner plus de 10 000 000 clés par fenêtre")
+    private int expectedKeysPerWindow = 250_000;
+}
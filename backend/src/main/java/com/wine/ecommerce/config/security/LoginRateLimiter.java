@@ -0,0 +1,232 @@
+package com.wine.ecommerce.config.security;
+
+import com.wine.ecommerce.core.exceptions.ErrorCode;
+import com.wine.ecommerce.core.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Limitation des tentatives de connexion par email et par adresse IP, sur fenêtre glissante.
+ * <p>
+ * Chaque tentative coûte une vérification BCrypt : le contrôle est fait avant toute
+ * requête SQL ou tout hachage, et les tentatives refusées continuent d'alimenter la
+ * fenêtre (un attaquant qui insiste reste bloqué). Les inscriptions, qui hachent aussi
+ * un mot de passe, sont décomptées de la même limite par adresse IP.
+ * <p>
+ * Les compteurs forment un sketch count-min sans verrou à empreinte mémoire fixe,
+ * quel que soit le nombre d'emails ou d'IP vus :
+ * <ul>
+ *   <li>deux lignes de compteurs, indexées par deux hachages salés aléatoirement au
+ *       démarrage (un attaquant ne peut pas prévoir quelles clés partagent un compteur) ;
+ *       l'estimation retenue est le minimum des deux lignes ;</li>
+ *   <li>chaque compteur est un {@code long} mis à jour par CAS, contenant l'index de la
+ *       fenêtre courante et les nombres de tentatives des fenêtres courante et précédente ;</li>
+ *   <li>le nombre de tentatives sur la fenêtre glissante est estimé en pondérant la fenêtre
+ *       précédente par sa part encore couverte.</li>
+ * </ul>
+ * Les collisions ne peuvent que surestimer un compteur : la limite n'est jamais contournée.
+ * En contrepartie, un sketch trop étroit sature : des clés aléatoires suffisent à porter
+ * tous les compteurs à la limite et à bloquer tout le monde. La largeur de chaque sketch
+ * est donc calculée à partir de {@code app.security.login-rate-limit.expected-keys-per-window}
+ * et de sa limite (voir {@link SlidingWindowSketch#countersPerRow(int, int)}).
+ * <p>
+ * Métriques : {@code login.rate_limited}, taggé par {@code key} ({@code email} ou {@code ip}).
+ */
+@Slf4j
+@Component
+public class LoginRateLimiter {
+
+    private final LoginRateLimitProperties properties;
+    private final SlidingWindowSketch byEmail;
+    private final SlidingWindowSketch byIp;
+    private final Counter rejectedByEmail;
+    private final Counter rejectedByIp;
+
+    public LoginRateLimiter(LoginRateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.byEmail = new SlidingWindowSketch(SlidingWindowSketch.countersPerRow(
+                properties.getExpectedKeysPerWindow(), properties.getMaxAttemptsPerEmail()));
+        this.byIp = new SlidingWindowSketch(SlidingWindowSketch.countersPerRow(
+                properties.getExpectedKeysPerWindow(), properties.getMaxAttemptsPerIp()));
+        this.rejectedByEmail = rejectionCounter(meterRegistry, "email");
+        this.rejectedByIp = rejectionCounter(meterRegistry, "ip");
+        log.info("Limitation des connexions : {} compteurs par ligne pour les emails, {} pour les IP",
+                byEmail.width(), byIp.width());
+    }
+
+    /**
+     * Enregistre une tentative de connexion et la refuse si une limite est dépassée.
+     *
+     * @param clientIp l'adresse IP du client (peut être null)
+     * @param email l'email saisi (peut être null)
+     * @throws TooManyRequestsException si l'email ou l'IP a dépassé sa limite sur la fenêtre
+     */
+    public void checkLoginAttempt(String clientIp, String email) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long windowMillis = properties.getWindow().toMillis();
+
+        if (isIpOverLimit(clientIp, now, windowMillis)) {
+            log.warn("Connexion refusée: trop de tentatives pour l'IP {}", clientIp);
+            throw new TooManyRequestsException(ErrorCode.USER_TOO_MANY_LOGIN_ATTEMPTS);
+        }
+        if (email != null) {
+            String emailKey = email.trim().toLowerCase(Locale.ROOT);
+            if (byEmail.increment(emailKey, now, windowMillis) >= properties.getMaxAttemptsPerEmail()) {
+                rejectedByEmail.increment();
+                log.warn("Connexion refusée: trop de tentatives pour l'email {}", emailKey);
+                throw new TooManyRequestsException(ErrorCode.USER_TOO_MANY_LOGIN_ATTEMPTS);
+            }
+        }
+    }
+
+    /**
+     * Enregistre une inscription et la refuse si l'adresse IP a dépassé sa limite,
+     * partagée avec les tentatives de connexion.
+     *
+     * @param clientIp l'adresse IP du client (peut être null)
+     * @throws TooManyRequestsException si l'IP a dépassé sa limite sur la fenêtre
+     */
+    public void checkRegistrationAttempt(String clientIp) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (isIpOverLimit(clientIp, System.currentTimeMillis(), properties.getWindow().toMillis())) {
+            log.warn("Inscription refusée: trop de tentatives pour l'IP {}", clientIp);
+            throw new TooManyRequestsException(ErrorCode.USER_TOO_MANY_REGISTRATION_ATTEMPTS);
+        }
+    }
+
+    private boolean isIpOverLimit(String clientIp, long now, long windowMillis) {
+        if (clientIp != null && byIp.increment(clientIp, now, windowMillis) >= properties.getMaxAttemptsPerIp()) {
+            rejectedByIp.increment();
+            return true;
+        }
+        return false;
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String key) {
+        return Counter.builder("login.rate_limited")
+                .description("Nombre de tentatives de connexion refusées par la limitation")
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sketch count-min à deux lignes de compteurs sur fenêtre glissante.
+     * <p>
+     * Format d'un compteur : index de fenêtre (32 bits) | tentatives de la fenêtre
+     * précédente (16 bits) | tentatives de la fenêtre courante (16 bits).
+     */
+    static final class SlidingWindowSketch {
+
+        private static final int ROWS = 2;
+        private static final long COUNT_MASK = 0xFFFFL;
+        private static final int MIN_COUNTERS_PER_ROW = 64;
+        /** Rapport visé entre la limite et la charge moyenne d'un compteur sur une fenêtre. */
+        private static final int LOAD_FACTOR = 8;
+
+        private final AtomicLongArray counters;
+        private final int indexMask;
+        private final long[] seeds = new long[ROWS];
+
+        SlidingWindowSketch(int countersPerRow) {
+            int size = Integer.highestOneBit(Math.max(countersPerRow - 1, 1)) << 1;
+            this.counters = new AtomicLongArray(size * ROWS);
+            this.indexMask = size - 1;
+            SecureRandom random = new SecureRandom();
+            for (int row = 0; row < ROWS; row++) {
+                seeds[row] = random.nextLong();
+            }
+        }
+
+        /**
+         * Calcule la largeur d'une ligne pour que {@code expectedKeys} clés distinctes, vues
+         * une fois chacune sur une fenêtre, chargent en moyenne un compteur à 1/8 de la limite.
+         * Une clé légitime n'est alors bloquée que si ses deux compteurs sont saturés par
+         * des collisions, ce qui reste négligeable à ce taux de remplissage.
+         *
+         * @param expectedKeys le nombre de clés distinctes attendues par fenêtre
+         * @param limit la limite de tentatives par clé
+         * @return le nombre de compteurs par ligne, avant arrondi à la puissance de deux supérieure
+         */
+        static int countersPerRow(int expectedKeys, int limit) {
+            long counters = ((long) expectedKeys * LOAD_FACTOR + limit - 1) / limit;
+            return (int) Math.max(MIN_COUNTERS_PER_ROW, counters);
+        }
+
+        /**
+         * @return le nombre de compteurs par ligne
+         */
+        int width() {
+            return indexMask + 1;
+        }
+
+        /**
+         * Compte une tentative pour la clé.
+         *
+         * @return le nombre estimé de tentatives sur la fenêtre glissante, avant celle-ci
+         */
+        long increment(String key, long nowMillis, long windowMillis) {
+            long window = nowMillis / windowMillis;
+            double previousWeight = 1.0 - (double) (nowMillis % windowMillis) / windowMillis;
+
+            long estimate = Long.MAX_VALUE;
+            for (int row = 0; row < ROWS; row++) {
+                int slot = row * (indexMask + 1) + (int) (hash(key, seeds[row]) & indexMask);
+                estimate = Math.min(estimate, incrementSlot(slot, window, previousWeight));
+            }
+            return estimate;
+        }
+
+        private long incrementSlot(int slot, long window, double previousWeight) {
+            while (true) {
+                long packed = counters.get(slot);
+                long storedWindow = packed >>> 32;
+                long previous;
+                long current;
+                if (storedWindow == (window & 0xFFFFFFFFL)) {
+                    previous = (packed >>> 16) & COUNT_MASK;
+                    current = packed & COUNT_MASK;
+                } else if (storedWindow == ((window - 1) & 0xFFFFFFFFL)) {
+                    previous = packed & COUNT_MASK;
+                    current = 0;
+                } else {
+                    previous = 0;
+                    current = 0;
+                }
+
+                long updated = ((window & 0xFFFFFFFFL) << 32)
+                        | (previous << 16)
+                        | Math.min(current + 1, COUNT_MASK);
+                if (packed == updated || counters.compareAndSet(slot, packed, updated)) {
+                    return (long) (previous * previousWeight) + current;
+                }
+            }
+        }
+
+        /**
+         * Hachage FNV-1a 64 bits salé, suivi d'un mélange final (avalanche de SplitMix64).
+         */
+        private static long hash(String key, long seed) {
+            long h = 0xcbf29ce484222325L ^ seed;
+            for (int i = 0; i < key.length(); i++) {
+                h ^= key.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            return h ^ (h >>> 33);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.wine.ecommerce.config.security;
+
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+
+/**
+ * Fabrique de l'encodeur de mots de passe de l'application.
+ * <p>
+ * Les nouveaux hashs sont préfixés par leur algorithme ({@code {bcrypt}$2a$...}), ce qui
+ * permettra de changer d'algorithme sans réinitialisation des mots de passe. Les hashs
+ * historiques, sans préfixe, sont vérifiés par BCrypt puis ré-encodés à la connexion
+ * suivante, de même que les hashs d'un coût inférieur au coût cible.
+ */
+public final class PasswordEncoders {
+
+    private static final String BCRYPT_ID = "bcrypt";
+
+    private PasswordEncoders() {
+    }
+
+    /**
+     * Construit l'encodeur délégant, en calibrant le coût BCrypt si nécessaire.
+     *
+     * @param properties la configuration du hachage des mots de passe
+     * @return l'encodeur de mots de passe
+     */
+    public static PasswordEncoder delegating(PasswordHashingProperties properties) {
+        int strength = properties.getBcryptStrength() > 0
+                ? properties.getBcryptStrength()
+                : BCryptWorkFactorCalibrator.calibrate(properties.getTargetHashTime(),
+                        properties.getMinBcryptStrength(), properties.getMaxBcryptStrength());
+
+        CalibratedBCryptPasswordEncoder bcrypt = new CalibratedBCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+}
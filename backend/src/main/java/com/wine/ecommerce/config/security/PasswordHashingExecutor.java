@@ -0,0 +1,241 @@
+package com.wine.ecommerce.config.security;
+
+import com.wine.ecommerce.core.exceptions.ErrorCode;
+import com.wine.ecommerce.core.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Exécuteur borné dédié aux opérations BCrypt (vérification et encodage des mots de passe).
+ * <p>
+ * Le hachage est coûteux en CPU : l'exécuter sur les threads Tomcat affame les autres
+ * requêtes lors des pics de connexion. Les hachages sont donc confiés à un pool de la
+ * taille du nombre de cœurs, précédé d'une file d'attente bornée.
+ * <p>
+ * Le pool n'exécute que les opérations BCrypt elles-mêmes : une connexion ou une inscription
+ * soumise par {@link #submit} s'exécute sur un thread virtuel (requêtes SQL, émission des
+ * tokens) et ne confie au pool que le hachage du mot de passe, via {@link PooledPasswordEncoder}
+ * ou {@link #execute}.
+ * <p>
+ * Contrôle d'admission :
+ * - au plus N connexions simultanées par adresse IP et par email (HTTP 429)
+ * - refus immédiat lorsque la file d'attente est pleine (HTTP 503)
+ * <p>
+ * Métriques exposées : {@code executor.*} (tag {@code name=password.hashing}) pour la taille
+ * de la file et l'activité du pool, et {@code password.hashing.rejected} par motif de refus.
+ */
+@Slf4j
+@Component
+public class PasswordHashingExecutor implements DisposableBean {
+
+    private static final String EXECUTOR_NAME = "password.hashing";
+
+    private final PasswordHashingProperties properties;
+    private final ThreadPoolExecutor threadPool;
+    private final ExecutorService executor;
+    private final ExecutorService callers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("password-hashing-caller-", 1).factory());
+    private final InFlightLimiter perIp = new InFlightLimiter();
+    private final InFlightLimiter perEmail = new InFlightLimiter();
+    private final Counter rejectedByIp;
+    private final Counter rejectedByEmail;
+    private final Counter rejectedQueueFull;
+
+    public PasswordHashingExecutor(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        int threads = properties.getEffectiveThreads();
+        this.threadPool = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, threadPool, EXECUTOR_NAME, List.of());
+
+        this.rejectedByIp = rejectionCounter(meterRegistry, "ip");
+        this.rejectedByEmail = rejectionCounter(meterRegistry, "email");
+        this.rejectedQueueFull = rejectionCounter(meterRegistry, "queue_full");
+
+        log.info("Exécuteur de hachage des mots de passe: {} threads, file de {} éléments",
+                threads, properties.getQueueCapacity());
+    }
+
+    /**
+     * Soumet une opération comportant des hachages (connexion, inscription) pour un client identifié.
+     * <p>
+     * L'opération s'exécute sur un thread virtuel, hors des threads HTTP et du pool de
+     * hachage : ses requêtes SQL n'occupent pas un thread BCrypt, et seuls les hachages
+     * qu'elle délègue à {@link #execute} passent par le pool.
+     *
+     * @param clientIp l'adresse IP du client (peut être null)
+     * @param email l'email concerné (peut être null)
+     * @param task l'opération à exécuter
+     * @return le résultat asynchrone de l'opération
+     * @throws TooManyRequestsException si le client a trop d'opérations en cours
+     */
+    public <T> CompletableFuture<T> submit(String clientIp, String email, Supplier<T> task) {
+        String emailKey = email != null ? email.toLowerCase(Locale.ROOT) : null;
+
+        if (!perIp.tryAcquire(clientIp, properties.getMaxInFlightPerIp())) {
+            rejectedByIp.increment();
+            log.warn("Hachage refusé: trop de requêtes simultanées pour l'IP {}", clientIp);
+            throw new TooManyRequestsException(ErrorCode.GENERAL_TOO_MANY_REQUESTS);
+        }
+        if (!perEmail.tryAcquire(emailKey, properties.getMaxInFlightPerEmail())) {
+            perIp.release(clientIp);
+            rejectedByEmail.increment();
+            log.warn("Hachage refusé: trop de requêtes simultanées pour l'email {}", emailKey);
+            throw new TooManyRequestsException(ErrorCode.GENERAL_TOO_MANY_REQUESTS);
+        }
+
+        return CompletableFuture.supplyAsync(task, callers).whenComplete((result, ex) -> {
+            perIp.release(clientIp);
+            perEmail.release(emailKey);
+        });
+    }
+
+    /**
+     * Exécute une opération de hachage sur le pool dédié et attend son résultat.
+     * <p>
+     * Le thread appelant attend sans consommer de CPU, et le nombre de hachages simultanés
+     * reste borné. L'opération ne doit contenir que le hachage : aucune requête SQL.
+     *
+     * @param task l'opération à exécuter
+     * @return le résultat de l'opération
+     * @throws TooManyRequestsException si la file d'attente est pleine
+     */
+    public <T> T execute(Supplier<T> task) {
+        CompletableFuture<T> result;
+        try {
+            result = CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejectedQueueFull.increment();
+            log.warn("Hachage refusé: file d'attente pleine ({} éléments)", properties.getQueueCapacity());
+            throw new TooManyRequestsException(ErrorCode.GENERAL_SERVICE_OVERLOADED, e);
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Exécute un lot d'opérations de hachage en parallèle sur le pool dédié et attend leurs résultats.
+     * <p>
+     * Utilisé par l'import en masse : au plus autant d'opérations que de threads du pool sont
+     * soumises à la fois, si bien qu'une connexion arrivant pendant l'import n'attend jamais
+     * plus d'un tour de hachage derrière le lot.
+     *
+     * @param inputs les éléments à traiter
+     * @param task l'opération à appliquer à chaque élément
+     * @return les résultats, dans l'ordre des éléments
+     * @throws TooManyRequestsException si la file d'attente est pleine
+     */
+    public <T, R> List<R> executeAll(List<T> inputs, Function<? super T, ? extends R> task) {
+        Semaphore permits = new Semaphore(threadPool.getMaximumPoolSize());
+        List<CompletableFuture<R>> results = new ArrayList<>(inputs.size());
+        for (T input : inputs) {
+            permits.acquireUninterruptibly();
+            try {
+                results.add(CompletableFuture.<R>supplyAsync(() -> task.apply(input), executor)
+                        .whenComplete((result, ex) -> permits.release()));
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                rejectedQueueFull.increment();
+                log.warn("Hachage en lot refusé: file d'attente pleine ({} éléments)", properties.getQueueCapacity());
+                throw new TooManyRequestsException(ErrorCode.GENERAL_SERVICE_OVERLOADED, e);
+            }
+        }
+        try {
+            return results.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        callers.shutdown();
+        threadPool.shutdown();
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder(EXECUTOR_NAME + ".rejected")
+                .description("Opérations de hachage refusées par le contrôle d'admission")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Compteur d'opérations en cours par clé (IP ou email).
+     * Les clés sans opération en cours sont retirées pour borner la mémoire.
+     */
+    private static final class InFlightLimiter {
+
+        private final Map<String, Integer> inFlight = new ConcurrentHashMap<>();
+
+        boolean tryAcquire(String key, int limit) {
+            if (key == null) {
+                return true;
+            }
+            boolean[] acquired = new boolean[1];
+            inFlight.compute(key, (k, count) -> {
+                int current = count != null ? count : 0;
+                if (current >= limit) {
+                    return count;
+                }
+                acquired[0] = true;
+                return current + 1;
+            });
+            return acquired[0];
+        }
+
+        void release(String key) {
+            if (key != null) {
+                inFlight.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.wine.ecommerce.config.security;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration externalisée du hachage des mots de passe : exécuteur dédié
+ * et facteur de coût BCrypt.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.security.password-hashing")
+@Validated
+public class PasswordHashingProperties {
+
+    /**
+     * Nombre de threads de hachage (0 pour utiliser le nombre de cœurs disponibles).
+     */
+    @Min(value = 0, message = "Le nombre de threads ne peut pas être négatif")
+    private int threads = 0;
+
+    /**
+     * Nombre maximal de hachages en attente avant de refuser les nouvelles requêtes.
+     */
+    @Min(value = 1, message = "La file d'attente doit contenir au moins un élément")
+    private int queueCapacity = 64;
+
+    /**
+     * Nombre maximal de hachages simultanés (en cours ou en attente) par adresse IP.
+     */
+    @Min(value = 1, message = "La limite par adresse IP doit être d'au moins 1")
+    private int maxInFlightPerIp = 4;
+
+    /**
+     * Nombre maximal de hachages simultanés (en cours ou en attente) par email.
+     */
+    @Min(value = 1, message = "La limite par email doit être d'au moins 1")
+    private int maxInFlightPerEmail = 2;
+
+    /**
+     * Facteur de coût BCrypt des nouveaux hashs (0 pour le calibrer au démarrage selon le
+     * temps cible). La calibration est propre à chaque instance : en déploiement
+     * multi-instances, le coût doit être fixé explicitement. Par défaut, le coût historique
+     * de 10 : chaque incrément double le temps CPU d'une connexion et fait ré-encoder les
+     * hashs de tous les comptes à leur connexion suivante.
+     */
+    @Min(value = 0, message = "Le coût BCrypt ne peut pas être négatif")
+    @Max(value = 31, message = "Le coût BCrypt ne peut pas dépasser 31")
+    private int bcryptStrength = 10;
+
+    /**
+     * Temps de hachage visé lors de la calibration du coût BCrypt.
+     */
+    @NotNull(message = "Le temps de hachage cible est obligatoire")
+    private Duration targetHashTime = Duration.ofMillis(100);
+
+    /**
+     * Coût BCrypt minimal retenu par la calibration.
+     */
+    @Min(value = 4, message = "Le coût BCrypt minimal doit être d'au moins 4")
+    @Max(value = 31, message = "Le coût BCrypt minimal ne peut pas dépasser 31")
+    private int minBcryptStrength = 10;
+
+    /**
+     * Coût BCrypt maximal retenu par la calibration.
+     */
+    @Min(value = 4, message = "Le coût BCrypt maximal doit être d'au moins 4")
+    @Max(value = 31, message = "Le coût BCrypt maximal ne peut pas dépasser 31")
+    private int maxBcryptStrength = 14;
+
+    /**
+     * Retourne le nombre effectif de threads de hachage.
+     *
+     * @return le nombre de threads configuré, ou le nombre de cœurs si non défini
+     */
+    public int getEffectiveThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
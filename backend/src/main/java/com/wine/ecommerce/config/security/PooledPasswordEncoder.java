@@ -0,0 +1,37 @@
+package com.wine.ecommerce.config.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Encodeur de l'authentification par identifiants : les opérations BCrypt s'exécutent
+ * sur le pool de {@link PasswordHashingExecutor}, le reste de l'authentification
+ * (chargement de l'utilisateur, mise à niveau du hash) sur le thread appelant.
+ * <p>
+ * Réservé au fournisseur d'authentification : les services qui encodent déjà via
+ * {@link PasswordHashingExecutor#execute} utilisent l'encodeur d'origine.
+ */
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+
+    public PooledPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor passwordHashingExecutor) {
+        this.delegate = delegate;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return passwordHashingExecutor.execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return passwordHashingExecutor.execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
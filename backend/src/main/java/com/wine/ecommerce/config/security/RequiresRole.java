@@ -0,0 +1,27 @@
+package com.wine.ecommerce.config.security;
+
+import com.wine.ecommerce.user.enums.UserRole;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restreint l'accès à une méthode (ou à toutes les méthodes d'une classe) aux utilisateurs
+ * possédant au moins un des rôles indiqués.
+ * <p>
+ * Équivalent compilé de {@code @PreAuthorize("hasRole('A') or hasRole('B')")} : la décision
+ * est un test de masque de bits, sans évaluation SpEL. Voir {@link RoleAuthorizationInterceptor}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface RequiresRole {
+
+    /**
+     * Rôles autorisés (au moins un requis).
+     */
+    UserRole[] value();
+}
@@ -0,0 +1,135 @@
+package com.wine.ecommerce.config.security;
+
+import com.wine.ecommerce.config.jwt.CompactClaims;
+import com.wine.ecommerce.user.enums.UserRole;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Contrôle d'accès des méthodes annotées {@link RequiresRole}.
+ * <p>
+ * La décision est compilée une fois par méthode : l'annotation est résolue en masque de
+ * rôles requis (bit {@code n} = {@link UserRole} d'ordinal {@code n}), puis chaque appel
+ * se réduit à un ET binaire avec le masque des rôles de l'utilisateur.
+ * <p>
+ * Un contrôleur et le service qu'il appelle étant protégés par les mêmes rôles, les
+ * contrôles imbriqués sont fusionnés : le masque de l'utilisateur est calculé au premier
+ * contrôle de l'appel et réutilisé, sur le même thread et pour la même authentification,
+ * par les méthodes protégées appelées en cascade.
+ * <p>
+ * Métriques : {@code authorization.method.checks}, taggé par {@code outcome}
+ * ({@code granted}, {@code denied} ou {@code nested}).
+ */
+@Slf4j
+public class RoleAuthorizationInterceptor implements MethodInterceptor {
+
+    private static final ThreadLocal<Frame> CURRENT = new ThreadLocal<>();
+
+    private final Map<MethodClassKey, Integer> requiredMasks = new ConcurrentHashMap<>();
+    private final Supplier<Timers> timers;
+
+    public RoleAuthorizationInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        // Résolution différée : l'intercepteur est un bean d'infrastructure créé avant le registre
+        this.timers = SingletonSupplier.of(() -> new Timers(meterRegistry.getObject()));
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        int required = requiredMask(invocation);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        Frame outer = CURRENT.get();
+        if (outer != null && outer.authentication() == authentication && (outer.grantedMask() & required) != 0) {
+            timers.get().nested().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return invocation.proceed();
+        }
+
+        int granted = authentication != null && authentication.isAuthenticated()
+                ? CompactClaims.encodeRoles(authentication.getAuthorities())
+                : 0;
+        if ((granted & required) == 0) {
+            timers.get().denied().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.debug("Accès refusé à {} pour {}", invocation.getMethod().getName(),
+                    authentication != null ? authentication.getName() : "anonyme");
+            throw new AuthorizationDeniedException("Access Denied", new AuthorizationDecision(false));
+        }
+        timers.get().granted().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        CURRENT.set(new Frame(authentication, granted));
+        try {
+            return invocation.proceed();
+        } finally {
+            if (outer != null) {
+                CURRENT.set(outer);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Retourne le masque des rôles requis par la méthode, calculé au premier appel.
+     */
+    private int requiredMask(MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        Class<?> targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null;
+        return requiredMasks.computeIfAbsent(new MethodClassKey(method, targetClass),
+                key -> compile(method, targetClass));
+    }
+
+    private static int compile(Method method, Class<?> targetClass) {
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        RequiresRole annotation = AnnotatedElementUtils.findMergedAnnotation(specificMethod, RequiresRole.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(specificMethod.getDeclaringClass(), RequiresRole.class);
+        }
+        if (annotation == null || annotation.value().length == 0) {
+            throw new IllegalStateException("@RequiresRole sans rôle sur " + specificMethod);
+        }
+
+        int mask = 0;
+        for (UserRole role : annotation.value()) {
+            mask |= 1 << role.ordinal();
+        }
+        return mask;
+    }
+
+    /**
+     * Décision accordée pour l'appel en cours sur ce thread.
+     */
+    private record Frame(Authentication authentication, int grantedMask) {
+    }
+
+    private record Timers(Timer granted, Timer denied, Timer nested) {
+
+        Timers(MeterRegistry registry) {
+            this(timer(registry, "granted"), timer(registry, "denied"), timer(registry, "nested"));
+        }
+
+        private static Timer timer(MeterRegistry registry, String outcome) {
+            return Timer.builder("authorization.method.checks")
+                    .description("Temps passé dans les contrôles d'accès @RequiresRole")
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+    }
+}
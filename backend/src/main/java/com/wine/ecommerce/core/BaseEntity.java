@@ -1,5 +1,6 @@
 package com.wine.ecommerce.core;
 
+import com.wine.ecommerce.core.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -17,7 +18,7 @@ import java.util.UUID;
 public abstract class BaseEntity {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
     
     @CreatedDate
@@ -21,6 +21,8 @@ public enum ErrorCode {
     GENERAL_CONFLICT("GENERAL_004", "Conflit de données", HttpStatus.CONFLICT),
     GENERAL_UNAUTHORIZED("GENERAL_005", "Accès non autorisé", HttpStatus.UNAUTHORIZED),
     GENERAL_FORBIDDEN("GENERAL_006", "Accès interdit", HttpStatus.FORBIDDEN),
+    GENERAL_TOO_MANY_REQUESTS("GENERAL_007", "Trop de requêtes simultanées, veuillez réessayer plus tard", HttpStatus.TOO_MANY_REQUESTS),
+    GENERAL_SERVICE_OVERLOADED("GENERAL_008", "Service temporairement surchargé, veuillez réessayer plus tard", HttpStatus.SERVICE_UNAVAILABLE),
 
     // ===== ERREURS UTILISATEUR (USER_xxx) =====
     USER_NOT_FOUND("USER_001", "Utilisateur non trouvé avec l'ID : %s", HttpStatus.NOT_FOUND),
@@ -37,6 +39,12 @@ public enum ErrorCode {
     USER_INVALID_PASSWORD("USER_012", "Le mot de passe ne respecte pas les critères de sécurité", HttpStatus.BAD_REQUEST),
     USER_INVALID_EMAIL_FORMAT("USER_013", "Format d'email invalide : %s", HttpStatus.BAD_REQUEST),
     USER_MISSING_REQUIRED_FIELD("USER_014", "Le champ '%s' est obligatoire", HttpStatus.BAD_REQUEST),
+    USER_TOO_MANY_LOGIN_ATTEMPTS("USER_015", "Trop de tentatives de connexion, veuillez réessayer plus tard", HttpStatus.TOO_MANY_REQUESTS),
+    USER_INVALID_SORT_FIELD("USER_016", "Champ de tri non autorisé : %s", HttpStatus.BAD_REQUEST),
+    USER_INVALID_CURSOR("USER_017", "Curseur de pagination invalide", HttpStatus.BAD_REQUEST),
+    USER_IMPORT_NOT_FOUND("USER_018", "Import d'utilisateurs non trouvé avec l'ID : %s", HttpStatus.NOT_FOUND),
+    USER_IMPORT_IN_PROGRESS("USER_019", "L'import d'utilisateurs %s est déjà en cours", HttpStatus.CONFLICT),
+    USER_TOO_MANY_REGISTRATION_ATTEMPTS("USER_020", "Trop d'inscriptions depuis cette adresse, veuillez réessayer plus tard", HttpStatus.TOO_MANY_REQUESTS),
 
     // ===== ERREURS RÔLE (ROLE_xxx) =====
     ROLE_NOT_FOUND("ROLE_001", "Rôle non trouvé : %s", HttpStatus.NOT_FOUND),
@@ -54,11 +62,13 @@ public enum ErrorCode {
     JWT_INVALID_SIGNATURE("JWT_007", "Signature JWT invalide", HttpStatus.UNAUTHORIZED),
     JWT_USER_NOT_FOUND("JWT_008", "Utilisateur non trouvé pour le token JWT : %s", HttpStatus.UNAUTHORIZED),
     JWT_AUTHENTICATION_FAILED("JWT_009", "Échec de l'authentification JWT", HttpStatus.UNAUTHORIZED),
+    JWT_TOKEN_REVOKED("JWT_010", "Token JWT révoqué", HttpStatus.UNAUTHORIZED),
     
     // ===== ERREURS REFRESH TOKEN (REFRESH_xxx) =====
     REFRESH_TOKEN_ERROR("REFRESH_001", "Erreur de refresh token", HttpStatus.UNAUTHORIZED),
     REFRESH_TOKEN_NOT_FOUND("REFRESH_002", "Refresh token non trouvé : %s", HttpStatus.UNAUTHORIZED),
     REFRESH_TOKEN_EXPIRED("REFRESH_003", "Refresh token expiré : %s", HttpStatus.UNAUTHORIZED),
+    REFRESH_TOKEN_INVALID("REFRESH_004", "Refresh token invalide ou expiré", HttpStatus.UNAUTHORIZED),
 
     // ===== ERREURS PRODUIT (PRODUCT_xxx) =====
     PRODUCT_NOT_FOUND("PRODUCT_001", "Produit non trouvé avec l'ID : %s", HttpStatus.NOT_FOUND),
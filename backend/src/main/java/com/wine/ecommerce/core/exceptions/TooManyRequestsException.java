@@ -0,0 +1,29 @@
+package com.wine.ecommerce.core.exceptions;
+
+/**
+ * Exception levée lorsqu'une requête est refusée par le contrôle d'admission.
+ * 
+ * Cette exception est utilisée lorsqu'un client dépasse sa limite de requêtes
+ * simultanées ou lorsque le serveur ne peut plus accepter de nouveau travail.
+ */
+public class TooManyRequestsException extends WineEcommerceException {
+
+    /**
+     * Constructeur avec code d'erreur.
+     *
+     * @param errorCode le code d'erreur spécifique
+     */
+    public TooManyRequestsException(ErrorCode errorCode) {
+        super(errorCode);
+    }
+
+    /**
+     * Constructeur avec code d'erreur et cause.
+     *
+     * @param errorCode le code d'erreur spécifique
+     * @param cause la cause de l'exception
+     */
+    public TooManyRequestsException(ErrorCode errorCode, Throwable cause) {
+        super(errorCode, cause);
+    }
+}
@@ -0,0 +1,84 @@
+package com.wine.ecommerce.core.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Générateur d'UUID version 7 (RFC 9562) pour les clés primaires.
+ * <p>
+ * Les UUID v4 aléatoires insèrent chaque ligne à une position quelconque de l'index de
+ * clé primaire : pages éclatées, index plus gros et lectures disque à chaque insertion
+ * dès qu'il dépasse la mémoire. Un UUID v7 commence par l'horodatage en millisecondes,
+ * les insertions se font donc en fin d'index comme avec une séquence, sans aller-retour
+ * en base.
+ * <p>
+ * Disposition des 128 bits :
+ * - 48 bits : horodatage Unix en millisecondes
+ * - 4 bits : version (7)
+ * - 12 bits : compteur, incrémenté pour les identifiants d'une même milliseconde
+ * - 2 bits : variante (RFC 9562)
+ * - 62 bits : aléatoires (SecureRandom, comme {@link UUID#randomUUID()})
+ * <p>
+ * Le compteur garantit l'ordre strict des identifiants générés par l'instance ; s'il
+ * déborde, l'horodatage est avancé d'une milliseconde. Les UUID v4 existants restent
+ * valides : seul l'ordre des nouvelles clés change.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC_9562 = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    /**
+     * Dernier état émis : horodatage (ms) décalé de 12 bits, suivi du compteur.
+     */
+    private static final AtomicLong LAST_STATE = new AtomicLong();
+
+    /**
+     * Génère un nouvel UUID v7.
+     *
+     * @return un UUID v7, strictement supérieur aux précédents de cette instance
+     */
+    public static UUID nextUuid() {
+        long state = nextState(System.currentTimeMillis());
+        long timestamp = state >>> COUNTER_BITS;
+        long counter = state & COUNTER_MASK;
+
+        long mostSignificantBits = (timestamp << 16) | VERSION_7 | counter;
+        long leastSignificantBits = VARIANT_RFC_9562 | (RANDOM.nextLong() & RANDOM_MASK);
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    private static long nextState(long now) {
+        long candidate = now << COUNTER_BITS;
+        while (true) {
+            long last = LAST_STATE.get();
+            // Même milliseconde (ou horloge reculée) : on prolonge la séquence de la précédente
+            long next = candidate > last ? candidate : last + 1;
+            if (LAST_STATE.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return nextUuid();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,53 @@
+package com.wine.ecommerce.user.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration externalisée de l'index d'existence des emails (filtre de Bloom).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.users.email-index")
+@Validated
+public class EmailIndexProperties {
+
+    /**
+     * Active l'index. Désactivé, toutes les vérifications interrogent la base.
+     * L'index est local à l'instance : à n'activer qu'en instance unique.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Taux de faux positifs visé à pleine capacité.
+     */
+    @DecimalMin(value = "0.0001", message = "Le taux de faux positifs doit être d'au moins 0.0001")
+    @DecimalMax(value = "0.5", message = "Le taux de faux positifs ne peut pas dépasser 0.5")
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * Capacité minimale du filtre, en nombre d'emails.
+     */
+    @Min(value = 1000, message = "La capacité minimale doit être d'au moins 1000 emails")
+    private int minCapacity = 10000;
+
+    /**
+     * Marge de croissance : le filtre est dimensionné pour ce multiple du nombre
+     * d'utilisateurs existants lors de sa construction.
+     */
+    @DecimalMin(value = "1.0", message = "La marge de croissance doit être d'au moins 1")
+    private double growthFactor = 2.0;
+
+    /**
+     * Expression cron de reconstruction du filtre ("-" pour la désactiver).
+     * La reconstruction retire les emails supprimés et redimensionne le filtre.
+     */
+    @NotBlank(message = "L'expression cron de reconstruction ne peut pas être vide")
+    private String rebuildCron = "0 0 4 * * *";
+}
@@ -0,0 +1,48 @@
+package com.wine.ecommerce.user.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration externalisée de la purge des refresh tokens expirés.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.refresh-tokens.purge")
+@Validated
+public class RefreshTokenPurgeProperties {
+
+    /**
+     * Expression cron de la purge ("-" pour la désactiver), lue par {@code @Scheduled} :
+     * sa valeur par défaut est définie dans application.yml.
+     */
+    @NotBlank(message = "L'expression cron de la purge ne peut pas être vide")
+    private String cron;
+
+    /**
+     * Nombre maximal de lignes supprimées par transaction.
+     */
+    @Min(value = 1, message = "La taille d'un lot doit être d'au moins 1")
+    @Max(value = 50000, message = "La taille d'un lot ne peut pas dépasser 50000")
+    private int chunkSize = 1000;
+
+    /**
+     * Pause entre deux lots, pour laisser passer les autres transactions.
+     */
+    @NotNull(message = "La pause entre les lots est obligatoire")
+    private Duration pauseBetweenChunks = Duration.ofMillis(100);
+
+    /**
+     * Nombre maximal de lots par exécution (le reliquat est traité à l'exécution suivante).
+     */
+    @Min(value = 1, message = "Le nombre de lots par exécution doit être d'au moins 1")
+    private int maxChunksPerRun = 100;
+}
@@ -0,0 +1,32 @@
+package com.wine.ecommerce.user.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration externalisée de l'import en masse des utilisateurs.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.users.import")
+@Validated
+public class UserImportProperties {
+
+    /**
+     * Nombre de lignes traitées et validées par transaction. Chaque lot est un point de reprise.
+     */
+    @Min(value = 1, message = "La taille des lots doit être d'au moins 1 ligne")
+    @Max(value = 10000, message = "La taille des lots ne peut pas dépasser 10000 lignes")
+    private int chunkSize = 1000;
+
+    /**
+     * Nombre d'imports traités simultanément en arrière-plan ; les suivants attendent leur tour.
+     */
+    @Min(value = 1, message = "Au moins un import doit pouvoir être traité")
+    @Max(value = 8, message = "Au plus 8 imports peuvent être traités simultanément")
+    private int threads = 1;
+}
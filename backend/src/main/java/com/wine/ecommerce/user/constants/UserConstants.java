@@ -30,4 +30,8 @@ public final class UserConstants {
         public static final int MAX_NAME_LENGTH = 50;
         public static final int MAX_PHONE_LENGTH = 20;
     }
+
+    public static final class Pagination {
+        public static final int MAX_CURSOR_PAGE_SIZE = 100;
+    }
 }
\ No newline at end of file
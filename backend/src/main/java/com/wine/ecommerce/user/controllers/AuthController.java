@@ -1,16 +1,21 @@
 package com.wine.ecommerce.user.controllers;
 
 import com.wine.ecommerce.config.jwt.JwtUtils;
+import com.wine.ecommerce.config.security.LoginRateLimiter;
+import com.wine.ecommerce.config.security.PasswordHashingExecutor;
 import com.wine.ecommerce.core.exceptions.ErrorResponse;
 import com.wine.ecommerce.user.dto.*;
-import com.wine.ecommerce.user.entities.RefreshToken;
 import com.wine.ecommerce.user.entities.*;
 import com.wine.ecommerce.user.exceptions.EmailAlreadyExistsException;
 import com.wine.ecommerce.user.exceptions.RefreshTokenException;
 import com.wine.ecommerce.user.exceptions.RoleNotFoundException;
 import com.wine.ecommerce.user.repositories.RoleRepository;
-import com.wine.ecommerce.user.repositories.UserRepository;
+import com.wine.ecommerce.user.repositories.projections.RefreshTokenOwner;
+import com.wine.ecommerce.user.enums.UserRole;
+import com.wine.ecommerce.user.enums.UserStatus;
 import com.wine.ecommerce.user.services.RefreshTokenService;
+import com.wine.ecommerce.user.services.RefreshTokenService.IssuedRefreshToken;
+import com.wine.ecommerce.user.services.RefreshTokenService.RotatedRefreshToken;
 import com.wine.ecommerce.user.services.UserRegistrationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -19,6 +24,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -27,11 +33,12 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Tag(name = "Authentification", description = "API pour l'authentification et l'inscription des utilisateurs")
@@ -42,40 +49,51 @@ import java.util.stream.Collectors;
 public class AuthController {
 
     private final AuthenticationManager authenticationManager;
-    private final UserRepository userRepository;
     private final UserRegistrationService userRegistrationService;
     private final JwtUtils jwtUtils;
     private final RefreshTokenService refreshTokenService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final LoginRateLimiter loginRateLimiter;
 
     @Operation(summary = "Connexion utilisateur",
-            description = "Authentifie un utilisateur et retourne un token JWT avec les informations utilisateur")
+            description = "Authentifie un utilisateur et retourne un token JWT avec les informations utilisateur. "
+                    + "La connexion s'exécute hors des threads HTTP, la vérification du mot de passe sur un pool dédié")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Connexion réussie",
                     content = @Content(schema = @Schema(implementation = JwtResponse.class))),
             @ApiResponse(responseCode = "400", description = "Données invalides",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Identifiants incorrects",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Trop de tentatives ou de connexions simultanées pour cette IP ou cet email",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Serveur saturé, file de vérification pleine",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping("/login")
-    public ResponseEntity<JwtResponse> authenticateUser(
+    public CompletableFuture<ResponseEntity<JwtResponse>> authenticateUser(
             @Parameter(description = "Identifiants de connexion (email et mot de passe)", required = true)
-            @Valid @RequestBody LoginRequest loginRequest) {
+            @Valid @RequestBody LoginRequest loginRequest,
+            HttpServletRequest request) {
 
-        Authentication authentication = authenticationManager
-                .authenticate(new UsernamePasswordAuthenticationToken(
+        // Refus des tentatives en excès avant toute requête SQL ou vérification BCrypt
+        loginRateLimiter.checkLoginAttempt(request.getRemoteAddr(), loginRequest.email());
+
+        // Connexion sur un thread virtuel : seule la vérification BCrypt occupe le pool de hachage
+        return passwordHashingExecutor.submit(request.getRemoteAddr(), loginRequest.email(),
+                () -> authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
                         loginRequest.email(),
-                        loginRequest.password()));
+                        loginRequest.password())))
+                .thenApply(this::buildLoginResponse);
+    }
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+    private ResponseEntity<JwtResponse> buildLoginResponse(Authentication authentication) {
         UserPrincipal userDetails = (UserPrincipal) authentication.getPrincipal();
         
         String jwt = jwtUtils.generateToken(authentication);
         
-        // Créer le refresh token
-        User user = userRepository.findByEmail(userDetails.getEmail())
-                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
-        RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
+        // Créer ou remplacer le refresh token (une seule requête)
+        IssuedRefreshToken refreshToken = refreshTokenService.createRefreshToken(userDetails.getId());
 
         List<String> roles = userDetails.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
@@ -83,7 +101,7 @@ public class AuthController {
 
         return ResponseEntity.ok(new JwtResponse(
                 jwt,
-                refreshToken.getToken(),
+                refreshToken.token(),
                 "Bearer",
                 userDetails.getId(),
                 userDetails.getEmail(),
@@ -93,7 +111,8 @@ public class AuthController {
     }
 
     @Operation(summary = "Inscription utilisateur",
-            description = "Crée un nouveau compte utilisateur avec le rôle CLIENT par défaut")
+            description = "Crée un nouveau compte utilisateur avec le rôle CLIENT par défaut. "
+                    + "Les inscriptions partagent la limite par IP et le pool de hachage des connexions")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Inscription réussie",
                     content = @Content(schema = @Schema(implementation = MessageResponse.class))),
@@ -101,18 +120,27 @@ public class AuthController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "409", description = "Email déjà utilisé par un autre compte",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Trop d'inscriptions ou de requêtes simultanées pour cette IP",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Erreur interne (rôle CLIENT non trouvé)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Serveur saturé, file de hachage pleine",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping("/register")
-    public ResponseEntity<MessageResponse> registerUser(
+    public CompletableFuture<ResponseEntity<MessageResponse>> registerUser(
             @Parameter(description = "Données d'inscription du nouvel utilisateur", required = true)
-            @Valid @RequestBody SignupRequest signUpRequest) {
+            @Valid @RequestBody SignupRequest signUpRequest,
+            HttpServletRequest request) {
 
-        userRegistrationService.registerUser(signUpRequest);
+        // Même admission que la connexion : une inscription coûte aussi un hachage BCrypt
+        loginRateLimiter.checkRegistrationAttempt(request.getRemoteAddr());
 
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(new MessageResponse(com.wine.ecommerce.user.constants.UserConstants.Messages.USER_REGISTERED_SUCCESS));
+        return passwordHashingExecutor.submit(request.getRemoteAddr(), signUpRequest.email(), () -> {
+            userRegistrationService.registerUser(signUpRequest);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new MessageResponse(com.wine.ecommerce.user.constants.UserConstants.Messages.USER_REGISTERED_SUCCESS));
+        });
     }
 
     @Operation(summary = "Rafraîchir le token d'accès",
@@ -130,36 +158,45 @@ public class AuthController {
             @Parameter(description = "Refresh token pour générer un nouveau token d'accès", required = true)
             @Valid @RequestBody RefreshTokenRequest request) {
 
-        String refreshTokenValue = request.refreshToken();
-        
-        RefreshToken refreshToken = refreshTokenService.findByToken(refreshTokenValue)
-                .orElseThrow(() -> RefreshTokenException.tokenNotFound(refreshTokenValue));
-
-        refreshToken = refreshTokenService.verifyExpiration(refreshToken);
-        
-        User user = refreshToken.getUser();
-        String newAccessToken = jwtUtils.generateTokenFromUsername(user.getEmail());
-        
-        // Créer un nouveau refresh token
-        RefreshToken newRefreshToken = refreshTokenService.createRefreshToken(user);
-
-        List<String> roles = user.getRoles().stream()
-                .map(role -> role.getName().name())
+        // Rotation atomique : le token présenté est remplacé et son propriétaire lu en une seule requête
+        RotatedRefreshToken rotated = refreshTokenService.rotateRefreshToken(request.refreshToken());
+        IssuedRefreshToken newRefreshToken = rotated.refreshToken();
+        RefreshTokenOwner owner = rotated.owner();
+
+        // Un compte suspendu ou désactivé ne doit pas obtenir de nouveau token d'accès
+        if (owner.getStatus() != UserStatus.ACTIVE) {
+            refreshTokenService.revokeRefreshToken(newRefreshToken.token());
+            throw RefreshTokenException.invalid();
+        }
+
+        List<UserRole> userRoles = owner.roleList();
+        UserPrincipal principal = UserPrincipal.builder()
+                .id(owner.getUserId())
+                .email(owner.getEmail())
+                .firstName(owner.getFirstName())
+                .lastName(owner.getLastName())
+                .status(owner.getStatus())
+                .authorities(userRoles.stream().map(role -> new SimpleGrantedAuthority(role.getAuthority())).toList())
+                .build();
+        String newAccessToken = jwtUtils.generateToken(principal);
+
+        List<String> roles = userRoles.stream()
+                .map(UserRole::name)
                 .toList();
 
         return ResponseEntity.ok(new JwtResponse(
                 newAccessToken,
-                newRefreshToken.getToken(),
+                newRefreshToken.token(),
                 "Bearer",
-                user.getId(),
-                user.getEmail(),
-                user.getFirstName(),
-                user.getLastName(),
+                owner.getUserId(),
+                owner.getEmail(),
+                owner.getFirstName(),
+                owner.getLastName(),
                 roles));
     }
 
     @Operation(summary = "Déconnexion utilisateur",
-            description = "Révoque le refresh token de l'utilisateur connecté")
+            description = "Révoque le refresh token et les tokens d'accès de l'utilisateur connecté")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Déconnexion réussie"),
             @ApiResponse(responseCode = "401", description = "Refresh token invalide",
@@ -170,12 +207,9 @@ public class AuthController {
             @Parameter(description = "Refresh token à révoquer", required = true)
             @Valid @RequestBody RefreshTokenRequest request) {
 
-        String refreshTokenValue = request.refreshToken();
-        
-        RefreshToken refreshToken = refreshTokenService.findByToken(refreshTokenValue)
-                .orElseThrow(() -> RefreshTokenException.tokenNotFound(refreshTokenValue));
-
-        refreshTokenService.deleteByUser(refreshToken.getUser());
+        UUID userId = refreshTokenService.revokeRefreshToken(request.refreshToken())
+                .orElseThrow(RefreshTokenException::invalid);
+        jwtUtils.revokeUserTokens(userId);
 
         return ResponseEntity.ok(new MessageResponse(com.wine.ecommerce.user.constants.UserConstants.Messages.LOGOUT_SUCCESS));
     }
@@ -1,7 +1,9 @@
 package com.wine.ecommerce.user.controllers;
 
+import com.wine.ecommerce.config.security.RequiresRole;
 import com.wine.ecommerce.core.exceptions.ErrorResponse;
 import com.wine.ecommerce.user.dto.UserRoleDto;
+import com.wine.ecommerce.user.enums.UserRole;
 import com.wine.ecommerce.user.mappers.RoleMapper;
 import com.wine.ecommerce.user.services.RoleService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,7 +15,6 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -39,7 +40,7 @@ public class RoleController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping
-    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
     public ResponseEntity<List<UserRoleDto>> getAllRoles() {
         List<UserRoleDto> roles = roleMapper.toDtoList(roleService.getAllRoles());
         return ResponseEntity.ok(roles);
@@ -55,7 +56,7 @@ public class RoleController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/active")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
     public ResponseEntity<List<UserRoleDto>> getActiveRoles() {
         List<UserRoleDto> activeRoles = roleMapper.toDtoList(roleService.getAllActiveRoles());
         return ResponseEntity.ok(activeRoles);
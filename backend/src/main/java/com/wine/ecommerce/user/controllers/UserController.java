@@ -1,8 +1,12 @@
 package com.wine.ecommerce.user.controllers;
 
+import com.wine.ecommerce.config.security.RequiresRole;
 import com.wine.ecommerce.core.exceptions.ErrorResponse;
 import com.wine.ecommerce.user.dto.*;
+import com.wine.ecommerce.user.enums.TotalCountMode;
+import com.wine.ecommerce.user.enums.UserExportFormat;
 import com.wine.ecommerce.user.enums.UserRole;
+import com.wine.ecommerce.user.enums.UserSortField;
 import com.wine.ecommerce.user.enums.UserStatus;
 import com.wine.ecommerce.user.services.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,17 +17,23 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.UUID;
 
 @Tag(name = "Gestion des utilisateurs", description = "API pour la gestion des utilisateurs du système")
@@ -49,7 +59,7 @@ public class UserController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping
-    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
     public ResponseEntity<UserResponseDto> createUser(
             @Parameter(description = "Données du nouvel utilisateur", required = true)
             @Valid @RequestBody CreateUserRequest request) {
@@ -67,13 +77,13 @@ public class UserController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping
-    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
     public ResponseEntity<Page<UserSummaryDto>> getAllUsers(
             @Parameter(description = "Numéro de page (0-indexed)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Taille de la page", example = "10")
             @RequestParam(defaultValue = "10") int size,
-            @Parameter(description = "Champ de tri", example = "createdAt")
+            @Parameter(description = "Champ de tri (createdAt ou email)", example = "createdAt")
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @Parameter(description = "Direction du tri", example = "desc")
             @RequestParam(defaultValue = "desc") String sortDir,
@@ -82,9 +92,10 @@ public class UserController {
             @Parameter(description = "Filtrer par rôle utilisateur")
             @RequestParam(required = false) UserRole role
     ) {
+        String sortProperty = UserSortField.from(sortBy).getProperty();
         Sort sort = sortDir.equalsIgnoreCase("desc") 
-            ? Sort.by(sortBy).descending() 
-            : Sort.by(sortBy).ascending();
+            ? Sort.by(sortProperty).descending() 
+            : Sort.by(sortProperty).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
         Page<UserSummaryDto> users;
@@ -99,6 +110,109 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    @Operation(summary = "Lister les utilisateurs par curseur",
+               description = "Pagination par curseur (keyset) : coût constant quelle que soit la profondeur de page. "
+                       + "Le curseur retourné dans nextCursor donne la page suivante pour le même tri.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page d'utilisateurs récupérée avec succès"),
+        @ApiResponse(responseCode = "400", description = "Champ de tri non autorisé ou curseur invalide",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Non authentifié",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Accès refusé - permissions insuffisantes",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/cursor")
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
+    public ResponseEntity<UserCursorPage> getUsersByCursor(
+            @Parameter(description = "Curseur de la page précédente (absent pour la première page)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Taille de la page (100 maximum)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Champ de tri (createdAt ou email)", example = "createdAt")
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @Parameter(description = "Direction du tri", example = "desc")
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @Parameter(description = "Filtrer par statut utilisateur")
+            @RequestParam(required = false) UserStatus status,
+            @Parameter(description = "Filtrer par rôle utilisateur")
+            @RequestParam(required = false) UserRole role,
+            @Parameter(description = "Comptage total : NONE, EXACT ou ESTIMATED", example = "NONE")
+            @RequestParam(defaultValue = "NONE") TotalCountMode count
+    ) {
+        UserCursorPage users = userService.getUsersByCursor(status, role, UserSortField.from(sortBy),
+                sortDir.equalsIgnoreCase("desc"), cursor, size, count);
+        return ResponseEntity.ok(users);
+    }
+
+    @Operation(summary = "Exporter tous les utilisateurs",
+               description = "Exporte tous les utilisateurs et leurs rôles en NDJSON ou CSV. "
+                       + "Les lignes sont écrites au fil de la lecture, sans pagination.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export en cours d'écriture"),
+        @ApiResponse(responseCode = "401", description = "Non authentifié",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Accès refusé - permissions insuffisantes",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/export")
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
+    public void exportUsers(
+            @Parameter(description = "Format d'export : NDJSON ou CSV", example = "NDJSON")
+            @RequestParam(defaultValue = "NDJSON") UserExportFormat format,
+            HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("users-" + LocalDate.now() + "." + format.getExtension())
+                .build()
+                .toString());
+        userService.exportUsers(format, response.getOutputStream());
+    }
+
+    @Operation(summary = "Importer des utilisateurs en masse",
+               description = "Importe un flux NDJSON (un objet CreateUserRequest par ligne), traité par lots en arrière-plan. "
+                       + "La progression se suit via GET /api/users/import/{jobId}. "
+                       + "Les lignes invalides et les emails déjà présents sont ignorés et comptés. "
+                       + "Un import interrompu reprend en renvoyant le même fichier avec son jobId.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Fichier reçu, import lancé",
+                    content = @Content(schema = @Schema(implementation = UserImportJobDto.class))),
+        @ApiResponse(responseCode = "401", description = "Non authentifié",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Accès refusé - permissions insuffisantes",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Import à reprendre non trouvé",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "409", description = "Import à reprendre déjà en cours",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
+    public ResponseEntity<UserImportJobDto> importUsers(
+            @Parameter(description = "ID d'un import interrompu à reprendre")
+            @RequestParam(required = false) UUID jobId,
+            InputStream body
+    ) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(userService.importUsers(body, jobId));
+    }
+
+    @Operation(summary = "Suivre un import d'utilisateurs",
+               description = "Retourne la progression d'un import, mise à jour à chaque lot validé")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "État de l'import récupéré avec succès"),
+        @ApiResponse(responseCode = "404", description = "Import non trouvé",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/import/{jobId}")
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
+    public ResponseEntity<UserImportJobDto> getImportJob(
+            @Parameter(description = "ID de l'import", required = true)
+            @PathVariable UUID jobId) {
+        return ResponseEntity.ok(userService.getImportJob(jobId));
+    }
+
     @Operation(summary = "Obtenir les détails d'un utilisateur", 
                description = "Récupère les informations détaillées d'un utilisateur spécifique")
     @ApiResponses(value = {
@@ -112,7 +226,7 @@ public class UserController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/{userId}")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
     public ResponseEntity<UserResponseDto> getUserDetails(
             @Parameter(description = "ID de l'utilisateur", required = true, example = "123e4567-e89b-12d3-a456-426614174000")
             @PathVariable UUID userId) {
@@ -133,7 +247,7 @@ public class UserController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PutMapping("/{userId}")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
     public ResponseEntity<UserResponseDto> updateUser(
             @Parameter(description = "ID de l'utilisateur", required = true)
             @PathVariable UUID userId,
@@ -154,7 +268,7 @@ public class UserController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping("/{userId}/roles/assign")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
     public ResponseEntity<MessageResponse> assignRole(
             @Parameter(description = "ID de l'utilisateur", required = true)
             @PathVariable UUID userId,
@@ -175,7 +289,7 @@ public class UserController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping("/{userId}/roles/remove")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
     public ResponseEntity<MessageResponse> removeRole(
             @Parameter(description = "ID de l'utilisateur", required = true)
             @PathVariable UUID userId,
@@ -196,7 +310,7 @@ public class UserController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PatchMapping("/{userId}/status")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
     public ResponseEntity<MessageResponse> changeUserStatus(
             @Parameter(description = "ID de l'utilisateur", required = true)
             @PathVariable UUID userId,
@@ -219,7 +333,7 @@ public class UserController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @DeleteMapping("/{userId}")
-    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @RequiresRole(UserRole.SUPER_ADMIN)
     public ResponseEntity<MessageResponse> deleteUser(
             @Parameter(description = "ID de l'utilisateur à supprimer", required = true)
             @PathVariable UUID userId) {
@@ -0,0 +1,12 @@
+package com.wine.ecommerce.user.dto;
+
+import java.util.List;
+
+public record UserCursorPage(
+    List<UserSummaryDto> content,
+    int size,
+    String nextCursor,
+    boolean hasNext,
+    Long totalElements,
+    boolean totalEstimated
+) {}
@@ -0,0 +1,18 @@
+package com.wine.ecommerce.user.dto;
+
+import com.wine.ecommerce.user.enums.UserImportStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record UserImportJobDto(
+    UUID id,
+    UserImportStatus status,
+    long processedLines,
+    long importedCount,
+    long duplicateCount,
+    long invalidCount,
+    String lastError,
+    LocalDateTime createdAt,
+    LocalDateTime completedAt
+) {}
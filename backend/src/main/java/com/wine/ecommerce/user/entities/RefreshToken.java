@@ -9,9 +9,15 @@ import java.time.Instant;
 /**
  * Entité pour gérer les refresh tokens JWT.
  * Permet le renouvellement des access tokens sans nouvelle authentification.
+ * <p>
+ * Un seul refresh token par utilisateur : la contrainte d'unicité sur {@code user_id}
+ * sert de clé à l'upsert de rotation. Seule l'empreinte SHA-256 du token est stockée,
+ * la valeur remise au client n'est jamais persistée.
  */
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_expiry_date", columnList = "expiry_date")
+})
 @Getter
 @Setter
 @Builder
@@ -19,17 +25,17 @@ import java.time.Instant;
 @AllArgsConstructor
 public class RefreshToken extends BaseEntity {
 
-    @Column(nullable = false, unique = true)
-    private String token;
+    @Column(name = "token", nullable = false, unique = true, length = 64)
+    private String tokenHash;
 
     @Column(nullable = false)
     private Instant expiryDate;
 
-    @OneToOne
-    @JoinColumn(name = "user_id", referencedColumnName = "id")
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", referencedColumnName = "id", nullable = false, unique = true)
     private User user;
 
     public boolean isExpired() {
         return Instant.now().isAfter(this.expiryDate);
     }
-}
\ No newline at end of file
+}
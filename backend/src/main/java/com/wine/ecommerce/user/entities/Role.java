@@ -7,18 +7,25 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "roles")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "roles")
+@NaturalIdCache(region = "roles-by-name")
 @Getter
 @Setter @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Role extends BaseEntity {
 
+    @NaturalId
     @Enumerated(EnumType.STRING)
     @Column(name = "name", nullable = false, unique = true)
     @NotNull
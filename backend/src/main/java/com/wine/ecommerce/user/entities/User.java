@@ -6,17 +6,24 @@ import com.wine.ecommerce.order.Order;
 import com.wine.ecommerce.review.Review;
 import com.wine.ecommerce.user.enums.UserRole;
 import com.wine.ecommerce.user.enums.UserStatus;
+import com.wine.ecommerce.user.services.UserEmailIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    // Pagination par curseur (voir UserSortField) : un index par tri autorisé
+    @Index(name = "idx_users_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_users_status_created_at_id", columnList = "status, created_at, id")
+})
+@EntityListeners(UserEmailIndexListener.class)
 @Getter @Setter @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -51,6 +58,14 @@ public class User extends BaseEntity {
     @Column(name = "status", nullable = false)
     private UserStatus status = UserStatus.ACTIVE;
 
+    /**
+     * Les tokens d'accès émis avant cet instant sont rejetés (voir TokenRevocationRegistry).
+     * Écrit uniquement par {@code UserRepository.revokeTokensIssuedBefore} : une sauvegarde
+     * de l'entité ne peut pas écraser une révocation concurrente.
+     */
+    @Column(name = "tokens_valid_after", insertable = false, updatable = false)
+    private Instant tokensValidAfter;
+
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(
         name = "user_roles",
@@ -0,0 +1,47 @@
+package com.wine.ecommerce.user.entities;
+
+import com.wine.ecommerce.core.BaseEntity;
+import com.wine.ecommerce.user.enums.UserImportStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Suivi d'un import en masse d'utilisateurs.
+ * <p>
+ * Le point de reprise ({@code processedLines}) et les compteurs sont mis à jour dans la
+ * transaction de chaque lot : après une interruption, l'import reprend exactement à la
+ * première ligne du lot non validé.
+ */
+@Entity
+@Table(name = "user_import_jobs")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportJob extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private UserImportStatus status;
+
+    @Column(name = "processed_lines", nullable = false)
+    private long processedLines;
+
+    @Column(name = "imported_count", nullable = false)
+    private long importedCount;
+
+    @Column(name = "duplicate_count", nullable = false)
+    private long duplicateCount;
+
+    @Column(name = "invalid_count", nullable = false)
+    private long invalidCount;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
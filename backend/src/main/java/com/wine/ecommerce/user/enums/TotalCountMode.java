@@ -0,0 +1,13 @@
+package com.wine.ecommerce.user.enums;
+
+/**
+ * Calcul du nombre total d'éléments d'une pagination par curseur.
+ */
+public enum TotalCountMode {
+    /** Aucun comptage. */
+    NONE,
+    /** {@code COUNT(*)} exact, proportionnel au nombre de lignes filtrées. */
+    EXACT,
+    /** Estimation des statistiques PostgreSQL, en temps constant ; exact en présence d'un filtre. */
+    ESTIMATED
+}
@@ -0,0 +1,18 @@
+package com.wine.ecommerce.user.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum UserExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    UserExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.wine.ecommerce.user.enums;
+
+public enum UserImportStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
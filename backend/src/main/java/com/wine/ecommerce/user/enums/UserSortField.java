@@ -0,0 +1,42 @@
+package com.wine.ecommerce.user.enums;
+
+import com.wine.ecommerce.user.exceptions.UserValidationException;
+import lombok.Getter;
+
+/**
+ * Champs de tri autorisés pour la liste des utilisateurs.
+ * <p>
+ * Chaque tri est servi par un index : {@code (created_at, id)} et {@code (status, created_at, id)}
+ * pour la date de création, l'index unique de {@code email} pour l'email. Un champ unique
+ * suffit comme clé de pagination ; les autres sont départagés par l'ID.
+ */
+@Getter
+public enum UserSortField {
+    CREATED_AT("createdAt", false),
+    EMAIL("email", true);
+
+    private final String property;
+    private final boolean unique;
+
+    UserSortField(String property, boolean unique) {
+        this.property = property;
+        this.unique = unique;
+    }
+
+    /**
+     * Résout un champ de tri à partir de son nom de propriété ({@code createdAt}) ou de
+     * sa constante ({@code CREATED_AT}).
+     *
+     * @param value le champ demandé
+     * @return le champ de tri
+     * @throws UserValidationException si le champ n'est pas autorisé
+     */
+    public static UserSortField from(String value) {
+        for (UserSortField field : values()) {
+            if (field.property.equalsIgnoreCase(value) || field.name().equalsIgnoreCase(value)) {
+                return field;
+            }
+        }
+        throw UserValidationException.invalidSortField(value);
+    }
+}
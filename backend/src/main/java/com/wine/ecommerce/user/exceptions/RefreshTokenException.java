@@ -1,19 +1,26 @@
 package com.wine.ecommerce.user.exceptions;
 
+import com.wine.ecommerce.core.exceptions.ErrorCode;
+import com.wine.ecommerce.core.exceptions.UnauthorizedException;
+
 /**
  * Exception levée lors d'erreurs liées aux refresh tokens.
  */
-public class RefreshTokenException extends RuntimeException {
+public class RefreshTokenException extends UnauthorizedException {
 
-    public RefreshTokenException(String message) {
-        super(message);
+    public RefreshTokenException(ErrorCode errorCode, Object... arguments) {
+        super(errorCode, arguments);
     }
 
     public static RefreshTokenException tokenNotFound(String token) {
-        return new RefreshTokenException("Refresh token introuvable: " + token);
+        return new RefreshTokenException(ErrorCode.REFRESH_TOKEN_NOT_FOUND, token);
     }
 
     public static RefreshTokenException tokenExpired(String token) {
-        return new RefreshTokenException("Refresh token expiré: " + token);
+        return new RefreshTokenException(ErrorCode.REFRESH_TOKEN_EXPIRED, token);
+    }
+
+    public static RefreshTokenException invalid() {
+        return new RefreshTokenException(ErrorCode.REFRESH_TOKEN_INVALID);
     }
-}
\ No newline at end of file
+}
@@ -41,6 +41,25 @@ public class UserValidationException extends ValidationException {
         return new UserValidationException(ErrorCode.USER_MISSING_REQUIRED_FIELD, field);
     }
 
+    /**
+     * Constructeur pour champ de tri non autorisé.
+     *
+     * @param sortField le champ de tri demandé
+     * @return exception pour champ de tri invalide
+     */
+    public static UserValidationException invalidSortField(String sortField) {
+        return new UserValidationException(ErrorCode.USER_INVALID_SORT_FIELD, sortField);
+    }
+
+    /**
+     * Constructeur pour curseur de pagination illisible ou émis pour un autre tri.
+     *
+     * @return exception pour curseur invalide
+     */
+    public static UserValidationException invalidCursor() {
+        return new UserValidationException(ErrorCode.USER_INVALID_CURSOR);
+    }
+
     /**
      * Constructeur avec code d'erreur.
      *
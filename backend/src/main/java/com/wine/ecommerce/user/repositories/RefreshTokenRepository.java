@@ -2,29 +2,113 @@ package com.wine.ecommerce.user.repositories;
 
 import com.wine.ecommerce.user.entities.RefreshToken;
 import com.wine.ecommerce.user.entities.User;
+import com.wine.ecommerce.user.repositories.projections.RefreshTokenOwner;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Repository pour la gestion des refresh tokens.
+ * <p>
+ * L'émission, la rotation et la révocation s'exécutent chacune en une seule requête
+ * SQL native (PostgreSQL) ; les tokens sont recherchés par leur empreinte. La rotation
+ * retourne aussi l'utilisateur et ses rôles, de quoi émettre le token d'accès sans
+ * autre requête.
+ * <p>
+ * Les requêtes natives de modification déclarent la seule table touchée
+ * ({@link HibernateHints#HINT_NATIVE_SPACES}) : sans cela, Hibernate viderait toutes
+ * les régions du cache de second niveau à chaque connexion. Les requêtes
+ * {@code RETURNING} sont exécutées comme des lectures (pas de {@code @Modifying}, qui
+ * imposerait {@code executeUpdate}) : la déclaration borne alors le flush automatique
+ * et l'invalidation des requêtes en cache à la table {@code refresh_tokens}.
  */
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
 
-    Optional<RefreshToken> findByToken(String token);
+    /**
+     * Crée ou remplace le refresh token d'un utilisateur.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "refresh_tokens"))
+    @Query(value = """
+            INSERT INTO refresh_tokens (id, user_id, token, expiry_date, created_at, updated_at)
+            VALUES (:id, :userId, :tokenHash, :expiryDate, :now, :now)
+            ON CONFLICT (user_id) DO UPDATE
+            SET token = EXCLUDED.token, expiry_date = EXCLUDED.expiry_date, updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int upsert(@Param("id") UUID id, @Param("userId") UUID userId, @Param("tokenHash") String tokenHash,
+               @Param("expiryDate") Instant expiryDate, @Param("now") LocalDateTime now);
+
+    /**
+     * Remplace un refresh token valide par un nouveau et lit son propriétaire dans la
+     * même requête.
+     *
+     * @return l'utilisateur et ses rôles, ou vide si le token est inconnu ou expiré
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "refresh_tokens"))
+    @Query(value = """
+            WITH rotated AS (
+                UPDATE refresh_tokens
+                SET token = :newTokenHash, expiry_date = :expiryDate, updated_at = :now
+                WHERE token = :tokenHash AND expiry_date > :currentInstant
+                RETURNING user_id
+            )
+            SELECT u.id AS "userId", u.email AS "email", u.first_name AS "firstName",
+                   u.last_name AS "lastName", u.status AS "status", string_agg(r.name, ',') AS "roles"
+            FROM rotated
+            JOIN users u ON u.id = rotated.user_id
+            LEFT JOIN user_roles ur ON ur.user_id = u.id
+            LEFT JOIN roles r ON r.id = ur.role_id
+            GROUP BY u.id, u.email, u.first_name, u.last_name, u.status
+            """, nativeQuery = true)
+    Optional<RefreshTokenOwner> rotate(@Param("tokenHash") String tokenHash, @Param("newTokenHash") String newTokenHash,
+                          @Param("expiryDate") Instant expiryDate, @Param("currentInstant") Instant currentInstant,
+                          @Param("now") LocalDateTime now);
 
-    Optional<RefreshToken> findByUser(User user);
+    /**
+     * Supprime un refresh token.
+     *
+     * @return l'ID de l'utilisateur, ou vide si le token est inconnu
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "refresh_tokens"))
+    @Query(value = "DELETE FROM refresh_tokens WHERE token = :tokenHash RETURNING user_id", nativeQuery = true)
+    Optional<UUID> deleteByTokenHash(@Param("tokenHash") String tokenHash);
 
     @Modifying
     @Query("DELETE FROM RefreshToken rt WHERE rt.user = ?1")
     void deleteByUser(User user);
 
+    /**
+     * Supprime un lot de tokens expirés dans sa propre transaction.
+     * Les lignes verrouillées par une rotation ou une autre purge sont ignorées.
+     *
+     * @return le nombre de lignes supprimées
+     */
     @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expiryDate < CURRENT_TIMESTAMP")
-    void deleteExpiredTokens();
-}
\ No newline at end of file
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "refresh_tokens"))
+    @Query(value = """
+            DELETE FROM refresh_tokens
+            WHERE id IN (
+                SELECT id FROM refresh_tokens
+                WHERE expiry_date < :cutoff
+                ORDER BY expiry_date
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            """, nativeQuery = true)
+    int deleteExpiredChunk(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+
+    long countByExpiryDateBefore(Instant cutoff);
+}
@@ -9,7 +9,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface RoleRepository extends JpaRepository<Role, UUID> {
+public interface RoleRepository extends JpaRepository<Role, UUID>, RoleRepositoryCustom {
     Optional<Role> findByName(UserRole name);
     boolean existsByName(UserRole name);
 }
\ No newline at end of file
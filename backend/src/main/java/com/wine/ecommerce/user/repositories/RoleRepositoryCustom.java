@@ -0,0 +1,21 @@
+package com.wine.ecommerce.user.repositories;
+
+import com.wine.ecommerce.user.entities.Role;
+import com.wine.ecommerce.user.enums.UserRole;
+
+import java.util.Optional;
+
+/**
+ * Accès aux rôles par identifiant naturel, servi par le cache de second niveau.
+ */
+public interface RoleRepositoryCustom {
+
+    /**
+     * Charge un rôle par son nom (identifiant naturel), depuis les régions
+     * {@code roles-by-name} et {@code roles} lorsqu'il y est présent.
+     *
+     * @param name le nom du rôle
+     * @return le rôle, ou vide s'il n'existe pas
+     */
+    Optional<Role> findByNaturalName(UserRole name);
+}
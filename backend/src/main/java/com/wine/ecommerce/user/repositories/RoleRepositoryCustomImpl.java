@@ -0,0 +1,22 @@
+package com.wine.ecommerce.user.repositories;
+
+import com.wine.ecommerce.user.entities.Role;
+import com.wine.ecommerce.user.enums.UserRole;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+class RoleRepositoryCustomImpl implements RoleRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Role> findByNaturalName(UserRole name) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Role.class)
+                .loadOptional(name);
+    }
+}
@@ -0,0 +1,11 @@
+package com.wine.ecommerce.user.repositories;
+
+import com.wine.ecommerce.user.entities.UserImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface UserImportJobRepository extends JpaRepository<UserImportJob, UUID> {
+}
@@ -3,20 +3,143 @@ package com.wine.ecommerce.user.repositories;
 import com.wine.ecommerce.user.entities.User;
 import com.wine.ecommerce.user.enums.UserRole;
 import com.wine.ecommerce.user.enums.UserStatus;
+import com.wine.ecommerce.user.repositories.projections.UserExportRow;
+import com.wine.ecommerce.user.repositories.projections.UserRoleRow;
+import com.wine.ecommerce.user.repositories.projections.UserSummaryRow;
+import com.wine.ecommerce.user.repositories.projections.UserTokenState;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserRepositoryCustom {
     Optional<User> findByEmail(String email);
     Boolean existsByEmail(String email);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
     
-    Page<User> findByStatus(UserStatus status, Pageable pageable);
-    Page<User> findByRoles_Name(UserRole role, Pageable pageable);
     long countByRoles_Name(UserRole role);
+
+    /*
+     * Liste d'administration : les pages sont projetées sans charger les entités (et donc
+     * sans le chargement EAGER des rôles ligne par ligne), puis les rôles de la page entière
+     * sont lus en une seule requête via findRolesByUserIds.
+     */
+
+    @Query(value = """
+            SELECT new com.wine.ecommerce.user.repositories.projections.UserSummaryRow(
+                u.id, u.email, u.firstName, u.lastName, u.status, u.createdAt)
+            FROM User u
+            """,
+            countQuery = "SELECT count(u) FROM User u")
+    Page<UserSummaryRow> findSummaries(Pageable pageable);
+
+    @Query(value = """
+            SELECT new com.wine.ecommerce.user.repositories.projections.UserSummaryRow(
+                u.id, u.email, u.firstName, u.lastName, u.status, u.createdAt)
+            FROM User u
+            WHERE u.status = :status
+            """,
+            countQuery = "SELECT count(u) FROM User u WHERE u.status = :status")
+    Page<UserSummaryRow> findSummariesByStatus(@Param("status") UserStatus status, Pageable pageable);
+
+    /**
+     * Filtre par rôle en semi-jointure : contrairement à une jointure, chaque utilisateur
+     * n'apparaît qu'une fois et le total de la page reste exact.
+     */
+    @Query(value = """
+            SELECT new com.wine.ecommerce.user.repositories.projections.UserSummaryRow(
+                u.id, u.email, u.firstName, u.lastName, u.status, u.createdAt)
+            FROM User u
+            WHERE EXISTS (SELECT 1 FROM u.roles r WHERE r.name = :role)
+            """,
+            countQuery = "SELECT count(u) FROM User u WHERE EXISTS (SELECT 1 FROM u.roles r WHERE r.name = :role)")
+    Page<UserSummaryRow> findSummariesByRole(@Param("role") UserRole role, Pageable pageable);
+
+    /**
+     * Compte les utilisateurs correspondant aux filtres optionnels de la pagination par curseur.
+     */
+    @Query("""
+            SELECT count(u) FROM User u
+            WHERE (:status IS NULL OR u.status = :status)
+              AND (:role IS NULL OR EXISTS (SELECT 1 FROM u.roles r WHERE r.name = :role))
+            """)
+    long countSummaries(@Param("status") UserStatus status, @Param("role") UserRole role);
+
+    /**
+     * Estimation du nombre d'utilisateurs tenue à jour par ANALYZE / autovacuum, lue en temps
+     * constant. Vaut -1 (PostgreSQL 14+) tant que la table n'a jamais été analysée.
+     */
+    @Query(value = "SELECT CAST(reltuples AS bigint) FROM pg_class WHERE oid = CAST('users' AS regclass)",
+            nativeQuery = true)
+    long estimateUserCount();
+
+    @Query("""
+            SELECT new com.wine.ecommerce.user.repositories.projections.UserRoleRow(u.id, r.name)
+            FROM User u JOIN u.roles r
+            WHERE u.id IN :userIds
+            """)
+    List<UserRoleRow> findRolesByUserIds(@Param("userIds") Collection<UUID> userIds);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = ?2 WHERE u.id = ?1")
+    int updatePassword(UUID id, String encodedPassword);
+
+    @Query("""
+            SELECT new com.wine.ecommerce.user.repositories.projections.UserTokenState(u.id, u.tokensValidAfter)
+            FROM User u
+            WHERE u.id = :id
+            """)
+    Optional<UserTokenState> findTokenState(@Param("id") UUID id);
+
+    /**
+     * Enregistre une révocation des tokens d'accès, sans revenir sur une révocation plus récente.
+     */
+    @Modifying
+    @Query("""
+            UPDATE User u SET u.tokensValidAfter = :instant
+            WHERE u.id = :id AND (u.tokensValidAfter IS NULL OR u.tokensValidAfter < :instant)
+            """)
+    int revokeTokensIssuedBefore(@Param("id") UUID id, @Param("instant") Instant instant);
+
+    /**
+     * Parcourt tous les emails par lots, sans charger les entités (transaction requise).
+     */
+    @Query("SELECT u.email FROM User u")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllEmails();
+
+    /**
+     * Parcourt tous les utilisateurs et leurs rôles pour l'export, sans charger d'entités :
+     * curseur JDBC en lecture seule, lu par lots de 1000 lignes (transaction requise).
+     * L'ordre (created_at, id) suit l'index idx_users_created_at_id et regroupe les lignes
+     * d'un même utilisateur.
+     */
+    @Query("""
+            SELECT new com.wine.ecommerce.user.repositories.projections.UserExportRow(
+                u.id, u.email, u.firstName, u.lastName, u.phone, u.status, u.createdAt, r.name)
+            FROM User u LEFT JOIN u.roles r
+            ORDER BY u.createdAt, u.id
+            """)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<UserExportRow> streamExportRows();
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.wine.ecommerce.user.repositories;
+
+import com.wine.ecommerce.user.enums.UserRole;
+import com.wine.ecommerce.user.enums.UserSortField;
+import com.wine.ecommerce.user.enums.UserStatus;
+import com.wine.ecommerce.user.repositories.projections.UserKeyset;
+import com.wine.ecommerce.user.repositories.projections.UserSummaryRow;
+
+import java.util.List;
+
+/**
+ * Requêtes utilisateurs non exprimables en méthodes dérivées : pagination par curseur.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Lit une page de la liste des utilisateurs par recherche d'index (keyset) : la page
+     * commence strictement après {@code after}, quelle que soit sa profondeur, sans parcourir
+     * les lignes précédentes.
+     *
+     * @param status     filtre optionnel sur le statut
+     * @param role       filtre optionnel sur le rôle
+     * @param sortField  le champ de tri
+     * @param descending l'ordre du tri
+     * @param after      la position de départ, ou null pour la première page
+     * @param limit      le nombre maximal de lignes
+     * @return les lignes, dans l'ordre du tri
+     */
+    List<UserSummaryRow> findSummariesAfter(UserStatus status, UserRole role, UserSortField sortField,
+                                            boolean descending, UserKeyset after, int limit);
+}
@@ -0,0 +1,66 @@
+package com.wine.ecommerce.user.repositories;
+
+import com.wine.ecommerce.user.enums.UserRole;
+import com.wine.ecommerce.user.enums.UserSortField;
+import com.wine.ecommerce.user.enums.UserStatus;
+import com.wine.ecommerce.user.repositories.projections.UserKeyset;
+import com.wine.ecommerce.user.repositories.projections.UserSummaryRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+
+class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private static final String SELECT_SUMMARY = """
+            SELECT new com.wine.ecommerce.user.repositories.projections.UserSummaryRow(
+                u.id, u.email, u.firstName, u.lastName, u.status, u.createdAt)
+            FROM User u
+            WHERE 1 = 1""";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserSummaryRow> findSummariesAfter(UserStatus status, UserRole role, UserSortField sortField,
+                                                   boolean descending, UserKeyset after, int limit) {
+        String property = "u." + sortField.getProperty();
+        String comparison = descending ? "<" : ">";
+        String direction = descending ? " DESC" : " ASC";
+
+        StringBuilder jpql = new StringBuilder(SELECT_SUMMARY);
+        if (status != null) {
+            jpql.append(" AND u.status = :status");
+        }
+        if (role != null) {
+            jpql.append(" AND EXISTS (SELECT 1 FROM u.roles r WHERE r.name = :role)");
+        }
+        if (after != null) {
+            // Comparaison de tuples : rendue en row value PostgreSQL, servie par l'index composite
+            jpql.append(sortField.isUnique()
+                    ? " AND " + property + " " + comparison + " :key"
+                    : " AND (" + property + ", u.id) " + comparison + " (:key, :id)");
+        }
+        jpql.append(" ORDER BY ").append(property).append(direction);
+        if (!sortField.isUnique()) {
+            jpql.append(", u.id").append(direction);
+        }
+
+        TypedQuery<UserSummaryRow> query = entityManager.createQuery(jpql.toString(), UserSummaryRow.class)
+                .setMaxResults(limit);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (role != null) {
+            query.setParameter("role", role);
+        }
+        if (after != null) {
+            query.setParameter("key", after.key());
+            if (!sortField.isUnique()) {
+                query.setParameter("id", after.id());
+            }
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,40 @@
+package com.wine.ecommerce.user.repositories.projections;
+
+import com.wine.ecommerce.user.enums.UserRole;
+import com.wine.ecommerce.user.enums.UserStatus;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Propriétaire d'un refresh token, lu par la requête de rotation elle-même.
+ * <p>
+ * Projection par interface : la requête étant native, ses colonnes sont associées aux
+ * accesseurs par leur alias.
+ */
+public interface RefreshTokenOwner {
+
+    UUID getUserId();
+
+    String getEmail();
+
+    String getFirstName();
+
+    String getLastName();
+
+    UserStatus getStatus();
+
+    /**
+     * Noms des rôles séparés par des virgules, null si l'utilisateur n'en a aucun.
+     */
+    String getRoles();
+
+    default List<UserRole> roleList() {
+        String roles = getRoles();
+        if (roles == null || roles.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(roles.split(",")).map(UserRole::valueOf).toList();
+    }
+}
@@ -0,0 +1,22 @@
+package com.wine.ecommerce.user.repositories.projections;
+
+import com.wine.ecommerce.user.enums.UserRole;
+import com.wine.ecommerce.user.enums.UserStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Ligne de l'export des utilisateurs : une ligne par rôle attribué (role null si aucun),
+ * les lignes d'un même utilisateur étant consécutives.
+ */
+public record UserExportRow(
+    UUID id,
+    String email,
+    String firstName,
+    String lastName,
+    String phone,
+    UserStatus status,
+    LocalDateTime createdAt,
+    UserRole role
+) {}
@@ -0,0 +1,16 @@
+package com.wine.ecommerce.user.repositories.projections;
+
+import com.wine.ecommerce.user.enums.UserSortField;
+
+import java.util.UUID;
+
+/**
+ * Position dans la liste des utilisateurs : valeur du champ de tri et ID de la dernière
+ * ligne lue. La page suivante commence strictement après cette position.
+ *
+ * @param sortField  le champ de tri
+ * @param descending l'ordre du tri
+ * @param key        la valeur du champ de tri ({@code LocalDateTime} ou {@code String})
+ * @param id         l'ID de la dernière ligne, pour départager les valeurs égales
+ */
+public record UserKeyset(UserSortField sortField, boolean descending, Object key, UUID id) {}
@@ -0,0 +1,10 @@
+package com.wine.ecommerce.user.repositories.projections;
+
+import com.wine.ecommerce.user.enums.UserRole;
+
+import java.util.UUID;
+
+/**
+ * Association utilisateur → rôle, une ligne par rôle attribué.
+ */
+public record UserRoleRow(UUID userId, UserRole role) {}
@@ -0,0 +1,18 @@
+package com.wine.ecommerce.user.repositories.projections;
+
+import com.wine.ecommerce.user.enums.UserStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Colonnes d'un utilisateur affichées dans la liste d'administration, sans ses rôles.
+ */
+public record UserSummaryRow(
+    UUID id,
+    String email,
+    String firstName,
+    String lastName,
+    UserStatus status,
+    LocalDateTime createdAt
+) {}
@@ -0,0 +1,9 @@
+package com.wine.ecommerce.user.repositories.projections;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Révocation des tokens d'accès d'un utilisateur ({@code tokensValidAfter} null si aucune).
+ */
+public record UserTokenState(UUID id, Instant tokensValidAfter) {}
@@ -4,25 +4,36 @@ package com.wine.ecommerce.user.services;
 import com.wine.ecommerce.user.entities.UserPrincipal;
 import com.wine.ecommerce.user.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import com.wine.ecommerce.user.entities.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     
 
      private final UserRepository userRepository;
+     private final EmailExistenceIndex emailIndex;
 
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        // Email certainement inconnu : aucune requête SQL
+        if (!emailIndex.mightExist(email)) {
+            throw new UsernameNotFoundException("User Not Found with email: " + email);
+        }
         User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + email));
+                .orElseThrow(() -> {
+                    emailIndex.recordFalsePositive();
+                    return new UsernameNotFoundException("User Not Found with email: " + email);
+                });
 
         return UserPrincipal.create(user);
     }
@@ -34,4 +45,18 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         return UserPrincipal.create(user);
     }
+
+    /**
+     * Enregistre le hash ré-encodé après une connexion réussie (coût BCrypt inférieur
+     * au coût cible ou hash sans préfixe d'algorithme).
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserPrincipal principal = (UserPrincipal) user;
+        userRepository.updatePassword(principal.getId(), newPassword);
+        principal.setPassword(newPassword);
+        log.debug("Hash du mot de passe mis à niveau pour l'utilisateur {}", principal.getId());
+        return principal;
+    }
 }
\ No newline at end of file
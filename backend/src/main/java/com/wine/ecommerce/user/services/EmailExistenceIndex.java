@@ -0,0 +1,289 @@
+package com.wine.ecommerce.user.services;
+
+import com.wine.ecommerce.user.config.EmailIndexProperties;
+import com.wine.ecommerce.user.repositories.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Index d'existence des emails, adossé à un filtre de Bloom.
+ * <p>
+ * Les connexions avec un email inconnu et les contrôles d'unicité à l'inscription
+ * interrogent la table {@code users}. Le filtre répond sans requête SQL lorsqu'un email
+ * est certainement absent ; une réponse positive (email présent ou faux positif) est
+ * toujours confirmée par la base.
+ * <p>
+ * Cycle de vie :
+ * <ul>
+ *   <li>construit au démarrage depuis {@link UserRepository} ; tant qu'il n'est pas prêt,
+ *       toutes les vérifications passent par la base ;</li>
+ *   <li>alimenté après le commit de chaque insertion ou changement d'email d'un
+ *       utilisateur (voir {@link UserEmailIndexListener}) ;</li>
+ *   <li>reconstruit périodiquement : un filtre de Bloom ne supporte pas la suppression,
+ *       les emails supprimés restent donc des faux positifs jusqu'à la reconstruction.</li>
+ * </ul>
+ * L'index est local à l'instance : en déploiement multi-instances, un email inscrit sur un
+ * autre nœud n'est connu qu'après la prochaine reconstruction. Il est donc désactivé par
+ * défaut et ne doit être activé qu'en instance unique.
+ * <p>
+ * Métriques exposées :
+ * - {@code users.email_index.lookups} : vérifications, taggées par {@code result}
+ *   ({@code absent}, {@code maybe}, {@code not_ready} avant le premier chargement) ; aucune
+ *   vérification n'est comptée lorsque l'index est désactivé
+ * - {@code users.email_index.false_positives} : réponses positives démenties par la base
+ * - {@code users.email_index.size} et {@code users.email_index.expected_fpp} : emails
+ *   indexés et taux de faux positifs théorique du filtre courant
+ */
+@Slf4j
+@Service
+public class EmailExistenceIndex {
+
+    private final UserRepository userRepository;
+    private final EmailIndexProperties properties;
+    /**
+     * Transaction du chargement, volontairement non {@code readOnly} : elle est servie par le
+     * serveur principal, un réplica en retard omettrait les dernières inscriptions.
+     */
+    private final TransactionTemplate loadTransaction;
+    private final Counter absentLookups;
+    private final Counter maybeLookups;
+    private final Counter notReadyLookups;
+    private final Counter falsePositives;
+
+    /**
+     * Filtre courant (null tant que le premier chargement n'est pas terminé).
+     */
+    private volatile BloomFilter current;
+
+    /**
+     * Filtre en cours de construction : les emails ajoutés pendant le chargement y sont
+     * aussi inscrits, afin qu'aucun ne soit perdu lors du remplacement.
+     */
+    private volatile BloomFilter building;
+
+    public EmailExistenceIndex(UserRepository userRepository, EmailIndexProperties properties,
+                               PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+
+        this.absentLookups = lookupCounter(meterRegistry, "absent");
+        this.maybeLookups = lookupCounter(meterRegistry, "maybe");
+        this.notReadyLookups = lookupCounter(meterRegistry, "not_ready");
+        this.falsePositives = Counter.builder("users.email_index.false_positives")
+                .description("Emails signalés présents par le filtre mais absents en base")
+                .register(meterRegistry);
+        Gauge.builder("users.email_index.size", this, index -> index.current != null ? index.current.insertions() : 0)
+                .description("Nombre d'emails inscrits dans le filtre courant")
+                .register(meterRegistry);
+        Gauge.builder("users.email_index.expected_fpp", this,
+                        index -> index.current != null ? index.current.expectedFalsePositiveRate() : 1.0)
+                .description("Taux de faux positifs théorique du filtre courant")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indique si un email peut exister en base.
+     *
+     * @param email l'email à vérifier
+     * @return false si l'email est certainement absent, true s'il doit être vérifié en base
+     */
+    public boolean mightExist(String email) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        BloomFilter filter = current;
+        if (filter == null) {
+            notReadyLookups.increment();
+            return true;
+        }
+        if (email == null || !filter.mightContain(normalize(email))) {
+            absentLookups.increment();
+            return false;
+        }
+        maybeLookups.increment();
+        return true;
+    }
+
+    /**
+     * Inscrit un email dans l'index.
+     *
+     * @param email l'email d'un utilisateur inséré ou modifié
+     */
+    public void add(String email) {
+        if (email == null) {
+            return;
+        }
+        String key = normalize(email);
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(key);
+        }
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.put(key);
+        }
+    }
+
+    /**
+     * Signale qu'une réponse positive de l'index a été démentie par la base.
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    /**
+     * Reconstruit le filtre depuis la base, dimensionné selon le nombre d'utilisateurs,
+     * puis remplace le filtre courant.
+     */
+    @Scheduled(cron = "${app.users.email-index.rebuild-cron:0 0 4 * * *}")
+    public synchronized void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        long users = userRepository.count();
+        long capacity = Math.max(properties.getMinCapacity(), (long) (users * properties.getGrowthFactor()));
+        BloomFilter next = BloomFilter.create(capacity, properties.getFalsePositiveRate());
+
+        // Ouvert aux ajouts avant la lecture : un email validé avant le début de la lecture
+        // y figure, un email validé ensuite est inscrit dans next par add() avant le remplacement
+        building = next;
+        try {
+            loadTransaction.executeWithoutResult(status -> {
+                try (Stream<String> emails = userRepository.streamAllEmails()) {
+                    emails.forEach(email -> next.put(normalize(email)));
+                }
+            });
+            current = next;
+        } finally {
+            building = null;
+        }
+        log.info("Index des emails construit: {} emails, capacité {}, {} bits, {} hachages, en {} ms",
+                next.insertions(), capacity, next.bitSize(), next.hashFunctions(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static String normalize(String email) {
+        // Insensible à la casse : l'index peut seulement signaler plus d'emails que la base
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("users.email_index.lookups")
+                .description("Vérifications d'existence d'email par l'index")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Filtre de Bloom concurrent sans verrou : les bits sont posés par OU atomique
+     * sur un {@link AtomicLongArray}, les {@code k} positions sont dérivées de deux
+     * hachages 64 bits (double hachage de Kirsch-Mitzenmacher).
+     */
+    static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitSize;
+        private final int hashFunctions;
+        private final LongAdder insertions = new LongAdder();
+
+        private BloomFilter(long bitSize, int hashFunctions) {
+            this.bits = new AtomicLongArray((int) ((bitSize + 63) >>> 6));
+            this.bitSize = bitSize;
+            this.hashFunctions = hashFunctions;
+        }
+
+        /**
+         * Dimensionne un filtre : {@code m = -n ln(p) / ln(2)^2} bits et {@code k = m/n ln(2)} hachages.
+         */
+        static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+            double ln2 = Math.log(2);
+            long bitSize = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+            bitSize = Math.min(Math.max(bitSize, 64), (long) Integer.MAX_VALUE * 64);
+            int hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * ln2));
+            return new BloomFilter(bitSize, hashFunctions);
+        }
+
+        void put(String key) {
+            long hash1 = hash(key);
+            long hash2 = mix(hash1 ^ 0x9e3779b97f4a7c15L);
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitSize);
+                long mask = 1L << bit;
+                int word = (int) (bit >>> 6);
+                if ((bits.get(word) & mask) == 0) {
+                    bits.getAndAccumulate(word, mask, (value, m) -> value | m);
+                }
+            }
+            insertions.increment();
+        }
+
+        boolean mightContain(String key) {
+            long hash1 = hash(key);
+            long hash2 = mix(hash1 ^ 0x9e3779b97f4a7c15L);
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitSize);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long insertions() {
+            return insertions.sum();
+        }
+
+        long bitSize() {
+            return bitSize;
+        }
+
+        int hashFunctions() {
+            return hashFunctions;
+        }
+
+        /**
+         * Taux de faux positifs théorique : {@code (1 - e^(-kn/m))^k}.
+         */
+        double expectedFalsePositiveRate() {
+            return Math.pow(1 - Math.exp(-(double) hashFunctions * insertions() / bitSize), hashFunctions);
+        }
+
+        private static long hash(String key) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                h ^= key.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            return mix(h);
+        }
+
+        /**
+         * Mélange final de SplitMix64.
+         */
+        private static long mix(long h) {
+            h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+            h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+            return h ^ (h >>> 31);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.wine.ecommerce.user.services;
+
+import com.wine.ecommerce.user.config.RefreshTokenPurgeProperties;
+import com.wine.ecommerce.user.repositories.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Purge planifiée des refresh tokens expirés.
+ * <p>
+ * Les lignes sont supprimées par lots de taille fixe, chacun dans sa propre transaction,
+ * avec une pause entre les lots : la table n'est jamais verrouillée longtemps et les
+ * rotations concurrentes ne sont pas bloquées. Les lignes déjà verrouillées sont ignorées
+ * ({@code SKIP LOCKED}), ce qui permet à plusieurs instances de purger en parallèle.
+ * <p>
+ * Métriques exposées :
+ * - {@code refresh_tokens.purged} : nombre de lignes supprimées
+ * - {@code refresh_tokens.purge.duration} : durée de chaque exécution
+ * - {@code refresh_tokens.purge.backlog} : tokens expirés restants après la dernière exécution
+ */
+@Slf4j
+@Service
+public class RefreshTokenPurgeService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenPurgeProperties properties;
+    private final Counter purgedRows;
+    private final Timer purgeDuration;
+    private final AtomicLong backlog = new AtomicLong();
+
+    public RefreshTokenPurgeService(RefreshTokenRepository refreshTokenRepository,
+                                    RefreshTokenPurgeProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.properties = properties;
+        this.purgedRows = Counter.builder("refresh_tokens.purged")
+                .description("Refresh tokens expirés supprimés")
+                .register(meterRegistry);
+        this.purgeDuration = Timer.builder("refresh_tokens.purge.duration")
+                .description("Durée d'une exécution de la purge des refresh tokens")
+                .register(meterRegistry);
+        Gauge.builder("refresh_tokens.purge.backlog", backlog, AtomicLong::get)
+                .description("Refresh tokens expirés restant à purger")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Supprime les refresh tokens expirés par lots.
+     *
+     * @return le nombre de lignes supprimées
+     */
+    @Scheduled(cron = "${app.refresh-tokens.purge.cron}")
+    public long purgeExpiredTokens() {
+        return purgeDuration.record(this::purgeInChunks);
+    }
+
+    private long purgeInChunks() {
+        Instant cutoff = Instant.now();
+        long purged = 0;
+        int chunks = 0;
+
+        while (chunks < properties.getMaxChunksPerRun()) {
+            int deleted = refreshTokenRepository.deleteExpiredChunk(cutoff, properties.getChunkSize());
+            purged += deleted;
+            purgedRows.increment(deleted);
+            chunks++;
+
+            if (deleted < properties.getChunkSize() || !pauseBetweenChunks()) {
+                break;
+            }
+        }
+
+        backlog.set(refreshTokenRepository.countByExpiryDateBefore(cutoff));
+        if (purged > 0) {
+            log.info("Purge des refresh tokens: {} lignes supprimées en {} lots, {} restantes",
+                    purged, chunks, backlog.get());
+        }
+        return purged;
+    }
+
+    private boolean pauseBetweenChunks() {
+        try {
+            Thread.sleep(properties.getPauseBetweenChunks());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Purge des refresh tokens interrompue");
+            return false;
+        }
+    }
+}
@@ -1,67 +1,118 @@
 package com.wine.ecommerce.user.services;
 
-import com.wine.ecommerce.user.entities.RefreshToken;
+import com.wine.ecommerce.config.jwt.JwtProperties;
+import com.wine.ecommerce.core.id.UuidV7Generator;
 import com.wine.ecommerce.user.entities.User;
 import com.wine.ecommerce.user.exceptions.RefreshTokenException;
 import com.wine.ecommerce.user.repositories.RefreshTokenRepository;
+import com.wine.ecommerce.user.repositories.projections.RefreshTokenOwner;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
 import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Service pour la gestion des refresh tokens.
+ * <p>
+ * Le token remis au client est une valeur aléatoire de 256 bits ; seule son empreinte
+ * SHA-256 est stockée. Chaque opération (émission, rotation, révocation) coûte une
+ * seule requête SQL ; la rotation lit en même temps l'utilisateur et ses rôles.
+ * <p>
+ * Les tokens émis avant le stockage des empreintes (UUID stockés en clair) restent
+ * acceptés jusqu'à leur expiration : un token au format UUID inconnu sous forme
+ * d'empreinte est recherché en clair, et sa rotation le remplace par une empreinte.
+ * Une empreinte (64 caractères hexadécimaux) n'a jamais le format d'un UUID : une
+ * empreinte lue en base ne peut pas être présentée comme token. Ce repli peut être
+ * retiré une durée {@code app.jwt.refresh-expiration} après le déploiement.
  */
 @Service
 @RequiredArgsConstructor
 public class RefreshTokenService {
 
+    private static final int TOKEN_BYTES = 32;
+    private static final int LEGACY_TOKEN_LENGTH = 36;
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static final Base64.Encoder TOKEN_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
     private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtProperties jwtProperties;
+
+    /**
+     * Refresh token émis : la valeur brute n'est disponible qu'à ce moment.
+     *
+     * @param token la valeur à remettre au client
+     * @param userId l'ID de l'utilisateur propriétaire
+     * @param expiryDate la date d'expiration
+     */
+    public record IssuedRefreshToken(String token, UUID userId, Instant expiryDate) {
+    }
 
-    @Value("${app.jwtRefreshExpirationMs:86400000}") // 24 heures par défaut
-    private Long refreshTokenDurationMs;
+    /**
+     * Refresh token remplacé par une rotation, avec son propriétaire.
+     *
+     * @param refreshToken le nouveau refresh token
+     * @param owner l'utilisateur propriétaire, lu par la requête de rotation
+     */
+    public record RotatedRefreshToken(IssuedRefreshToken refreshToken, RefreshTokenOwner owner) {
+    }
 
     /**
      * Crée un nouveau refresh token pour un utilisateur.
-     * Supprime l'ancien token s'il existe.
+     * Remplace l'ancien token s'il existe (upsert sur l'utilisateur).
      */
     @Transactional
-    public RefreshToken createRefreshToken(User user) {
-        // Supprimer l'ancien refresh token s'il existe
-        refreshTokenRepository.findByUser(user)
-                .ifPresent(refreshTokenRepository::delete);
-
-        RefreshToken refreshToken = RefreshToken.builder()
-                .user(user)
-                .token(UUID.randomUUID().toString())
-                .expiryDate(Instant.now().plusMillis(refreshTokenDurationMs))
-                .build();
-
-        return refreshTokenRepository.save(refreshToken);
+    public IssuedRefreshToken createRefreshToken(UUID userId) {
+        String token = generateToken();
+        Instant expiryDate = nextExpiryDate();
+
+        refreshTokenRepository.upsert(UuidV7Generator.nextUuid(), userId, hash(token), expiryDate, LocalDateTime.now());
+        return new IssuedRefreshToken(token, userId, expiryDate);
     }
 
     /**
-     * Vérifie la validité d'un refresh token.
+     * Remplace un refresh token valide par un nouveau token.
+     *
+     * @param token la valeur présentée par le client
+     * @return le nouveau refresh token et son propriétaire
+     * @throws RefreshTokenException si le token est inconnu, déjà utilisé ou expiré
      */
     @Transactional
-    public RefreshToken verifyExpiration(RefreshToken token) {
-        if (token.isExpired()) {
-            refreshTokenRepository.delete(token);
-            throw RefreshTokenException.tokenExpired(token.getToken());
-        }
-        return token;
+    public RotatedRefreshToken rotateRefreshToken(String token) {
+        String newToken = generateToken();
+        Instant expiryDate = nextExpiryDate();
+
+        String newTokenHash = hash(newToken);
+        Instant now = Instant.now();
+        LocalDateTime updatedAt = LocalDateTime.now();
+
+        RefreshTokenOwner owner = refreshTokenRepository.rotate(hash(token), newTokenHash, expiryDate, now, updatedAt)
+                .or(() -> isLegacyToken(token)
+                        ? refreshTokenRepository.rotate(token, newTokenHash, expiryDate, now, updatedAt)
+                        : Optional.empty())
+                .orElseThrow(RefreshTokenException::invalid);
+        return new RotatedRefreshToken(new IssuedRefreshToken(newToken, owner.getUserId(), expiryDate), owner);
     }
 
     /**
-     * Trouve un refresh token par sa valeur.
+     * Révoque un refresh token.
+     *
+     * @param token la valeur présentée par le client
+     * @return l'ID de l'utilisateur propriétaire, ou vide si le token est inconnu
      */
-    @Transactional(readOnly = true)
-    public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+    @Transactional
+    public Optional<UUID> revokeRefreshToken(String token) {
+        return refreshTokenRepository.deleteByTokenHash(hash(token))
+                .or(() -> isLegacyToken(token) ? refreshTokenRepository.deleteByTokenHash(token) : Optional.empty());
     }
 
     /**
@@ -72,11 +123,37 @@ public class RefreshTokenService {
         refreshTokenRepository.deleteByUser(user);
     }
 
+    private Instant nextExpiryDate() {
+        return Instant.now().plus(jwtProperties.getRefreshExpirationDuration());
+    }
+
     /**
-     * Supprime tous les tokens expirés.
+     * Vrai pour un token émis avant le stockage des empreintes (UUID stocké en clair).
      */
-    @Transactional
-    public void deleteExpiredTokens() {
-        refreshTokenRepository.deleteExpiredTokens();
+    private static boolean isLegacyToken(String token) {
+        if (token.length() != LEGACY_TOKEN_LENGTH) {
+            return false;
+        }
+        try {
+            UUID.fromString(token);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static String generateToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        SECURE_RANDOM.nextBytes(bytes);
+        return TOKEN_ENCODER.encodeToString(bytes);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package com.wine.ecommerce.user.services;
 
+import com.wine.ecommerce.config.jwt.TokenRevocationEvent;
+import com.wine.ecommerce.config.security.RequiresRole;
 import com.wine.ecommerce.user.constants.UserConstants;
 import com.wine.ecommerce.user.entities.Role;
 import com.wine.ecommerce.user.entities.User;
@@ -10,7 +12,7 @@ import com.wine.ecommerce.user.repositories.RoleRepository;
 import com.wine.ecommerce.user.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,8 +29,9 @@ public class RoleService {
 
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
     public void assignRole(UUID userId, UserRole roleToAssign) {
         log.info("Assigning role {} to user {}", roleToAssign, userId);
         
@@ -37,11 +40,12 @@ public class RoleService {
         
         user.addRole(role);
         userRepository.save(user);
+        eventPublisher.publishEvent(new TokenRevocationEvent(userId));
         
         log.info("Role {} assigned successfully to user {}", roleToAssign, userId);
     }
 
-    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
     public void removeRole(UUID userId, UserRole roleToRemove) {
         log.info("Removing role {} from user {}", roleToRemove, userId);
         
@@ -52,13 +56,14 @@ public class RoleService {
         
         user.removeRole(role);
         userRepository.save(user);
+        eventPublisher.publishEvent(new TokenRevocationEvent(userId));
         
         log.info("Role {} removed successfully from user {}", roleToRemove, userId);
     }
 
     @Transactional(readOnly = true)
     public Role findRoleByName(UserRole roleName) {
-        return roleRepository.findByName(roleName)
+        return roleRepository.findByNaturalName(roleName)
                 .orElseThrow(() -> new RoleNotFoundException(
                     String.format(UserConstants.Messages.ROLE_NOT_FOUND, roleName)));
     }
@@ -0,0 +1,50 @@
+package com.wine.ecommerce.user.services;
+
+import com.wine.ecommerce.user.entities.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Listener JPA inscrivant dans l'{@link EmailExistenceIndex} l'email de chaque utilisateur
+ * inséré ou modifié, quel que soit le chemin d'écriture (inscription, création par un
+ * administrateur, mise à jour, chargement initial).
+ * <p>
+ * L'email est inscrit après le commit de la transaction : une reconstruction de l'index
+ * en cours lit alors soit la ligne validée, soit l'email ajouté au filtre en construction.
+ * Inscrit avant le commit, il pourrait manquer aux deux et être perdu au remplacement
+ * du filtre.
+ * <p>
+ * Instancié par Hibernate via le conteneur de beans Spring ; l'index est résolu à la
+ * demande car il dépend lui-même de l'EntityManagerFactory.
+ */
+public class UserEmailIndexListener {
+
+    private final ObjectProvider<EmailExistenceIndex> emailIndex;
+
+    public UserEmailIndexListener(ObjectProvider<EmailExistenceIndex> emailIndex) {
+        this.emailIndex = emailIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void indexEmail(User user) {
+        String email = user.getEmail();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            addToIndex(email);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                addToIndex(email);
+            }
+        });
+    }
+
+    private void addToIndex(String email) {
+        emailIndex.ifAvailable(index -> index.add(email));
+    }
+}
@@ -0,0 +1,221 @@
+package com.wine.ecommerce.user.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.wine.ecommerce.config.security.RequiresRole;
+import com.wine.ecommerce.user.enums.UserExportFormat;
+import com.wine.ecommerce.user.enums.UserRole;
+import com.wine.ecommerce.user.repositories.UserRepository;
+import com.wine.ecommerce.user.repositories.projections.UserExportRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Export de tous les utilisateurs en NDJSON ou CSV.
+ * <p>
+ * Les lignes sont lues par un curseur JDBC et écrites au fil de l'eau dans le flux de
+ * réponse : la mémoire utilisée ne dépend pas du nombre d'utilisateurs et aucune entité
+ * n'entre dans le contexte de persistance.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserExportService {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final UserRepository userRepository;
+
+    /**
+     * Écrit l'export dans un flux. Le flux n'est pas fermé.
+     *
+     * @param format le format d'export
+     * @param out    le flux de destination
+     * @return le nombre d'utilisateurs exportés
+     * @throws IOException si l'écriture échoue (client déconnecté)
+     */
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
+    @Transactional(readOnly = true)
+    public long exportUsers(UserExportFormat format, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        long exported = 0;
+
+        try (Stream<UserExportRow> rows = userRepository.streamExportRows()) {
+            ExportWriter writer = format == UserExportFormat.NDJSON ? new NdjsonWriter(out) : new CsvWriter(out);
+            writer.begin();
+
+            // Les lignes d'un utilisateur sont consécutives : ses rôles sont regroupés avant écriture
+            UserExportRow current = null;
+            Set<UserRole> roles = EnumSet.noneOf(UserRole.class);
+            for (Iterator<UserExportRow> it = rows.iterator(); it.hasNext(); ) {
+                UserExportRow row = it.next();
+                if (current != null && !current.id().equals(row.id())) {
+                    writer.write(current, roles);
+                    exported++;
+                    roles.clear();
+                }
+                current = row;
+                if (row.role() != null) {
+                    roles.add(row.role());
+                }
+            }
+            if (current != null) {
+                writer.write(current, roles);
+                exported++;
+            }
+            writer.finish();
+        }
+
+        log.info("Export {} de {} utilisateurs en {} ms", format, exported,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return exported;
+    }
+
+    private interface ExportWriter {
+
+        void begin() throws IOException;
+
+        void write(UserExportRow user, Set<UserRole> roles) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * Un objet JSON par ligne.
+     */
+    private static final class NdjsonWriter implements ExportWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonWriter(OutputStream out) throws IOException {
+            this.generator = JSON_FACTORY.createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void begin() {
+        }
+
+        @Override
+        public void write(UserExportRow user, Set<UserRole> roles) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("id", user.id().toString());
+            generator.writeStringField("email", user.email());
+            generator.writeStringField("firstName", user.firstName());
+            generator.writeStringField("lastName", user.lastName());
+            generator.writeStringField("phone", user.phone());
+            generator.writeStringField("status", user.status().name());
+            generator.writeArrayFieldStart("roles");
+            for (UserRole role : roles) {
+                generator.writeString(role.name());
+            }
+            generator.writeEndArray();
+            generator.writeStringField("createdAt", formatDate(user.createdAt()));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.close();
+        }
+    }
+
+    /**
+     * CSV RFC 4180 avec ligne d'en-tête ; les rôles sont séparés par des points-virgules.
+     * <p>
+     * Les champs saisis par les utilisateurs qui commencent par un caractère interprété comme
+     * une formule par les tableurs ({@code = + - @}, tabulation, retour chariot) sont préfixés
+     * d'une apostrophe et mis entre guillemets : ils s'affichent comme du texte.
+     */
+    private static final class CsvWriter implements ExportWriter {
+
+        private static final String HEADER = "id,email,firstName,lastName,phone,status,roles,createdAt";
+        private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+        private final Writer writer;
+
+        CsvWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        }
+
+        @Override
+        public void begin() throws IOException {
+            writer.write(HEADER);
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(UserExportRow user, Set<UserRole> roles) throws IOException {
+            writer.write(user.id().toString());
+            writer.write(',');
+            writeField(user.email());
+            writer.write(',');
+            writeField(user.firstName());
+            writer.write(',');
+            writeField(user.lastName());
+            writer.write(',');
+            writeField(user.phone());
+            writer.write(',');
+            writer.write(user.status().name());
+            writer.write(',');
+            boolean first = true;
+            for (UserRole role : roles) {
+                if (!first) {
+                    writer.write(';');
+                }
+                writer.write(role.name());
+                first = false;
+            }
+            writer.write(',');
+            writeField(formatDate(user.createdAt()));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+                writer.write("\"'");
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private static String formatDate(LocalDateTime date) {
+        return date != null ? date.toString() : null;
+    }
+}
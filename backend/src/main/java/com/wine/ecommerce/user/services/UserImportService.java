@@ -0,0 +1,393 @@
+package com.wine.ecommerce.user.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wine.ecommerce.config.security.PasswordHashingExecutor;
+import com.wine.ecommerce.config.security.RequiresRole;
+import com.wine.ecommerce.core.exceptions.ConflictException;
+import com.wine.ecommerce.core.exceptions.ErrorCode;
+import com.wine.ecommerce.core.exceptions.ResourceNotFoundException;
+import com.wine.ecommerce.user.config.UserImportProperties;
+import com.wine.ecommerce.user.dto.CreateUserRequest;
+import com.wine.ecommerce.user.dto.UserImportJobDto;
+import com.wine.ecommerce.user.entities.Role;
+import com.wine.ecommerce.user.entities.User;
+import com.wine.ecommerce.user.entities.UserImportJob;
+import com.wine.ecommerce.user.enums.UserImportStatus;
+import com.wine.ecommerce.user.enums.UserRole;
+import com.wine.ecommerce.user.mappers.UserMapper;
+import com.wine.ecommerce.user.repositories.UserImportJobRepository;
+import com.wine.ecommerce.user.repositories.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Import en masse d'utilisateurs depuis un flux NDJSON (un {@link CreateUserRequest} par ligne).
+ * <p>
+ * Le flux est lu ligne à ligne et traité par lots :
+ * - lignes invalides et emails en double (dans le flux ou déjà en base) comptés puis ignorés
+ * - existence en base vérifiée en une requête par lot, après filtrage par l'index des emails
+ * - mots de passe hachés en parallèle sur le pool BCrypt, hors transaction
+ * - insertions groupées en batchs JDBC ({@code hibernate.jdbc.batch_size})
+ * <p>
+ * Le flux reçu est copié dans un fichier temporaire puis traité en arrière-plan : la
+ * requête HTTP se termine dès la réception, et la progression se suit par l'ID de l'import.
+ * <p>
+ * Chaque lot est validé dans sa propre transaction avec le point de reprise de l'import :
+ * un import interrompu reprend en renvoyant le même fichier avec l'ID de l'import.
+ */
+@Slf4j
+@Service
+public class UserImportService implements DisposableBean {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final UserRepository userRepository;
+    private final UserImportJobRepository userImportJobRepository;
+    private final RoleService roleService;
+    private final EmailExistenceIndex emailIndex;
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final UserMapper userMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final UserImportProperties properties;
+    private final TransactionTemplate transaction;
+    private final ExecutorService importExecutor;
+    private final Set<UUID> activeJobs = ConcurrentHashMap.newKeySet();
+    private final Counter importedLines;
+    private final Counter duplicateLines;
+    private final Counter invalidLines;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public UserImportService(UserRepository userRepository, UserImportJobRepository userImportJobRepository,
+                             RoleService roleService, EmailExistenceIndex emailIndex, PasswordEncoder passwordEncoder,
+                             PasswordHashingExecutor passwordHashingExecutor, UserMapper userMapper,
+                             ObjectMapper objectMapper, Validator validator, UserImportProperties properties,
+                             PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.userImportJobRepository = userImportJobRepository;
+        this.roleService = roleService;
+        this.emailIndex = emailIndex;
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.userMapper = userMapper;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.properties = properties;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.importExecutor = Executors.newFixedThreadPool(properties.getThreads(), new ImportThreadFactory());
+        this.importedLines = linesCounter(meterRegistry, "imported");
+        this.duplicateLines = linesCounter(meterRegistry, "duplicate");
+        this.invalidLines = linesCounter(meterRegistry, "invalid");
+    }
+
+    /**
+     * Reçoit un flux NDJSON et en lance l'import en arrière-plan.
+     *
+     * @param input le flux NDJSON (non fermé), entièrement lu avant le retour
+     * @param jobId l'ID d'un import interrompu à reprendre, ou null pour un nouvel import
+     * @return l'état de l'import au lancement ({@code RUNNING})
+     * @throws ResourceNotFoundException si l'import à reprendre n'existe pas
+     * @throws ConflictException si l'import à reprendre est en cours
+     */
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
+    public UserImportJobDto importUsers(InputStream input, UUID jobId) {
+        UserImportJob job = jobId != null ? findJob(jobId) : startJob();
+        if (!activeJobs.add(job.getId())) {
+            throw new ConflictException(ErrorCode.USER_IMPORT_IN_PROGRESS, job.getId());
+        }
+
+        Path file;
+        try {
+            file = spool(input);
+            job.setStatus(UserImportStatus.RUNNING);
+            job.setLastError(null);
+            job.setCompletedAt(null);
+            transaction.executeWithoutResult(status -> userImportJobRepository.save(job));
+            // Chaque lot relit l'import : l'instance locale ne reçoit que la progression validée
+            entityManager.detach(job);
+        } catch (RuntimeException e) {
+            activeJobs.remove(job.getId());
+            throw e;
+        }
+
+        log.info("Import d'utilisateurs {} reçu (reprise après la ligne {})", job.getId(), job.getProcessedLines());
+        importExecutor.execute(() -> runJob(job, file));
+        return toDto(job);
+    }
+
+    /**
+     * Retourne l'état d'un import, mis à jour à chaque lot validé.
+     */
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
+    public UserImportJobDto getImportJob(UUID jobId) {
+        return toDto(findJob(jobId));
+    }
+
+    @Override
+    public void destroy() {
+        importExecutor.shutdownNow();
+    }
+
+    private Path spool(InputStream input) {
+        Path file = null;
+        try {
+            file = Files.createTempFile("user-import-", ".ndjson");
+            Files.copy(input, file, StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new UncheckedIOException("Réception du fichier d'import impossible", e);
+        }
+    }
+
+    private void runJob(UserImportJob job, Path file) {
+        try (InputStream input = Files.newInputStream(file)) {
+            log.info("Import d'utilisateurs {} démarré", job.getId());
+            runImport(job, input);
+            job.setStatus(UserImportStatus.COMPLETED);
+            job.setCompletedAt(LocalDateTime.now());
+            log.info("Import d'utilisateurs {} terminé: {} importés, {} doublons, {} invalides",
+                    job.getId(), job.getImportedCount(), job.getDuplicateCount(), job.getInvalidCount());
+        } catch (IOException | RuntimeException e) {
+            // Le point de reprise est celui du dernier lot validé
+            job.setStatus(UserImportStatus.FAILED);
+            job.setLastError(truncate("Échec après la ligne " + job.getProcessedLines() + ": " + e.getMessage()));
+            log.error("Import d'utilisateurs {} interrompu après la ligne {}", job.getId(), job.getProcessedLines(), e);
+        } finally {
+            deleteQuietly(file);
+            activeJobs.remove(job.getId());
+        }
+        try {
+            transaction.executeWithoutResult(status -> userImportJobRepository.save(job));
+        } catch (RuntimeException e) {
+            log.error("État final de l'import d'utilisateurs {} non enregistré", job.getId(), e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Fichier d'import {} non supprimé: {}", file, e.getMessage());
+        }
+    }
+
+    private void runImport(UserImportJob job, InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Set<String> seenEmails = new HashSet<>();
+        List<CreateUserRequest> chunk = new ArrayList<>(properties.getChunkSize());
+        ChunkCounts counts = new ChunkCounts();
+        long lineNumber = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber <= job.getProcessedLines()) {
+                continue;
+            }
+            CreateUserRequest request = parse(line, lineNumber, counts);
+            if (request != null && !seenEmails.add(request.email())) {
+                counts.duplicates++;
+            } else if (request != null) {
+                chunk.add(request);
+            }
+            if (lineNumber - job.getProcessedLines() >= properties.getChunkSize()) {
+                commitChunk(job, chunk, counts, lineNumber);
+                chunk.clear();
+                counts = new ChunkCounts();
+            }
+        }
+        if (lineNumber > job.getProcessedLines()) {
+            commitChunk(job, chunk, counts, lineNumber);
+        }
+    }
+
+    private CreateUserRequest parse(String line, long lineNumber, ChunkCounts counts) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            CreateUserRequest request = objectMapper.readValue(line, CreateUserRequest.class);
+            Set<ConstraintViolation<CreateUserRequest>> violations = validator.validate(request);
+            if (violations.isEmpty()) {
+                return request;
+            }
+            ConstraintViolation<CreateUserRequest> violation = violations.iterator().next();
+            counts.reject("Ligne " + lineNumber + ": " + violation.getPropertyPath() + " " + violation.getMessage());
+        } catch (JsonProcessingException e) {
+            counts.reject("Ligne " + lineNumber + ": JSON invalide (" + e.getOriginalMessage() + ")");
+        }
+        return null;
+    }
+
+    private void commitChunk(UserImportJob job, List<CreateUserRequest> chunk, ChunkCounts counts, long lastLine) {
+        List<CreateUserRequest> toInsert = excludeExistingEmails(chunk);
+        counts.duplicates += chunk.size() - toInsert.size();
+
+        // Hachage hors transaction : aucune connexion n'est retenue pendant le calcul
+        List<String> hashes = passwordHashingExecutor.executeAll(toInsert, request -> passwordEncoder.encode(request.password()));
+
+        UserImportJob progress = transaction.execute(status -> {
+            Map<UserRole, Role> roles = new EnumMap<>(UserRole.class);
+            List<User> users = new ArrayList<>(toInsert.size());
+            for (int i = 0; i < toInsert.size(); i++) {
+                CreateUserRequest request = toInsert.get(i);
+                User user = userMapper.toEntity(request);
+                user.setPassword(hashes.get(i));
+                Set<Role> userRoles = new HashSet<>();
+                for (UserRole roleName : request.roles()) {
+                    userRoles.add(roles.computeIfAbsent(roleName, roleService::findRoleByName));
+                }
+                user.setRoles(userRoles);
+                users.add(user);
+            }
+            userRepository.saveAll(users);
+
+            // Point de reprise validé avec les insertions du lot
+            UserImportJob current = findJob(job.getId());
+            current.setStatus(UserImportStatus.RUNNING);
+            current.setProcessedLines(lastLine);
+            current.setImportedCount(current.getImportedCount() + users.size());
+            current.setDuplicateCount(current.getDuplicateCount() + counts.duplicates);
+            current.setInvalidCount(current.getInvalidCount() + counts.invalid);
+            if (counts.lastError != null) {
+                current.setLastError(truncate(counts.lastError));
+            }
+
+            // Le contexte de persistance ne doit pas croître d'un lot à l'autre
+            entityManager.flush();
+            entityManager.clear();
+            return current;
+        });
+        copyProgress(progress, job);
+
+        importedLines.increment(toInsert.size());
+        duplicateLines.increment(counts.duplicates);
+        invalidLines.increment(counts.invalid);
+        log.info("Import d'utilisateurs {}: ligne {} atteinte, {} importés", job.getId(), lastLine, job.getImportedCount());
+    }
+
+    /**
+     * Retire les emails déjà présents en base, en une requête pour tout le lot.
+     * Les emails certainement absents d'après l'index ne sont pas interrogés.
+     */
+    private List<CreateUserRequest> excludeExistingEmails(List<CreateUserRequest> chunk) {
+        List<String> candidates = chunk.stream()
+                .map(CreateUserRequest::email)
+                .filter(emailIndex::mightExist)
+                .toList();
+        if (candidates.isEmpty()) {
+            return chunk;
+        }
+        Set<String> existing = userRepository.findExistingEmails(candidates);
+        if (existing.isEmpty()) {
+            return chunk;
+        }
+        return chunk.stream()
+                .filter(request -> !existing.contains(request.email()))
+                .toList();
+    }
+
+    private static void copyProgress(UserImportJob source, UserImportJob target) {
+        target.setProcessedLines(source.getProcessedLines());
+        target.setImportedCount(source.getImportedCount());
+        target.setDuplicateCount(source.getDuplicateCount());
+        target.setInvalidCount(source.getInvalidCount());
+        target.setLastError(source.getLastError());
+    }
+
+    private UserImportJob startJob() {
+        return transaction.execute(status -> userImportJobRepository.save(UserImportJob.builder()
+                .status(UserImportStatus.RUNNING)
+                .build()));
+    }
+
+    private UserImportJob findJob(UUID jobId) {
+        return userImportJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.USER_IMPORT_NOT_FOUND, jobId));
+    }
+
+    private static UserImportJobDto toDto(UserImportJob job) {
+        return new UserImportJobDto(job.getId(), job.getStatus(), job.getProcessedLines(), job.getImportedCount(),
+                job.getDuplicateCount(), job.getInvalidCount(), job.getLastError(), job.getCreatedAt(),
+                job.getCompletedAt());
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static Counter linesCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("users.import.lines")
+                .description("Lignes traitées par l'import en masse des utilisateurs")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class ImportThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "user-import-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * Compteurs du lot en cours, reportés sur l'import à sa validation.
+     */
+    private static final class ChunkCounts {
+
+        private long duplicates;
+        private long invalid;
+        private String lastError;
+
+        void reject(String error) {
+            invalid++;
+            lastError = error;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.wine.ecommerce.user.services;
 
+import com.wine.ecommerce.config.jwt.TokenRevocationEvent;
+import com.wine.ecommerce.config.security.PasswordHashingExecutor;
+import com.wine.ecommerce.config.security.RequiresRole;
 import com.wine.ecommerce.user.constants.UserConstants;
 import com.wine.ecommerce.user.dto.*;
 import com.wine.ecommerce.user.entities.User;
@@ -11,10 +14,12 @@ import com.wine.ecommerce.user.mappers.UserMapper;
 import com.wine.ecommerce.user.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.UUID;
 
@@ -25,27 +30,40 @@ import java.util.UUID;
 public class UserManagementService {
 
     private final UserRepository userRepository;
+    private final EmailExistenceIndex emailIndex;
     private final RoleService roleService;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
-    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserResponseDto createUser(CreateUserRequest request) {
         log.info("Creating user with email: {}", request.email());
-        
+
+        // Email déjà utilisé : refus avant le hachage, sans occuper le pool BCrypt
         validateEmailUniqueness(request.email());
-        
-        User user = userMapper.toEntity(request);
-        user.setPassword(passwordEncoder.encode(request.password()));
-        user.setRoles(roleService.findRolesByNames(request.roles()));
 
-        User savedUser = userRepository.save(user);
-        log.info("User created successfully with ID: {}", savedUser.getId());
-        
-        return userMapper.toResponseDto(savedUser);
+        // Hachage avant la transaction : aucune connexion n'est retenue pendant le calcul BCrypt
+        String passwordHash = passwordHashingExecutor.execute(() -> passwordEncoder.encode(request.password()));
+
+        return transactionTemplate.execute(status -> {
+            validateEmailUniqueness(request.email());
+
+            User user = userMapper.toEntity(request);
+            user.setPassword(passwordHash);
+            user.setRoles(roleService.findRolesByNames(request.roles()));
+
+            User savedUser = userRepository.save(user);
+            log.info("User created successfully with ID: {}", savedUser.getId());
+
+            return userMapper.toResponseDto(savedUser);
+        });
     }
 
-    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
     public UserResponseDto updateUser(UUID userId, UpdateUserRequest request) {
         log.info("Updating user with ID: {}", userId);
         
@@ -57,23 +75,28 @@ public class UserManagementService {
         }
 
         User updatedUser = userRepository.save(user);
+        if (request.email() != null || request.status() != null || request.roles() != null) {
+            // Le sujet, le statut ou les rôles portés par les tokens en cours ne sont plus valides
+            eventPublisher.publishEvent(new TokenRevocationEvent(userId));
+        }
         log.info("User updated successfully with ID: {}", userId);
         
         return userMapper.toResponseDto(updatedUser);
     }
 
-    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
     public void changeUserStatus(UUID userId, UserStatus newStatus) {
         log.info("Changing status for user {} to {}", userId, newStatus);
         
         User user = findUserById(userId);
         user.setStatus(newStatus);
         userRepository.save(user);
+        eventPublisher.publishEvent(new TokenRevocationEvent(userId));
         
         log.info("User status changed successfully for ID: {}", userId);
     }
 
-    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @RequiresRole(UserRole.SUPER_ADMIN)
     public void deleteUser(UUID userId) {
         log.info("Deleting user with ID: {}", userId);
         
@@ -82,6 +105,7 @@ public class UserManagementService {
         validateSuperAdminDeletion(user);
         
         userRepository.delete(user);
+        eventPublisher.publishEvent(new TokenRevocationEvent(userId));
         log.info("User deleted successfully with ID: {}", userId);
     }
 
@@ -98,9 +122,14 @@ public class UserManagementService {
     }
 
     private void validateEmailUniqueness(String email) {
+        // Email certainement inconnu : aucune requête SQL, l'unicité reste garantie par la contrainte
+        if (!emailIndex.mightExist(email)) {
+            return;
+        }
         if (userRepository.existsByEmail(email)) {
             throw new IllegalArgumentException(UserConstants.Messages.EMAIL_ALREADY_EXISTS);
         }
+        emailIndex.recordFalsePositive();
     }
 
     private void validateSuperAdminDeletion(User user) {
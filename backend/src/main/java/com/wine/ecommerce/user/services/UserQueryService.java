@@ -1,19 +1,33 @@
 package com.wine.ecommerce.user.services;
 
+import com.wine.ecommerce.config.security.RequiresRole;
+import com.wine.ecommerce.user.constants.UserConstants;
+import com.wine.ecommerce.user.dto.UserCursorPage;
 import com.wine.ecommerce.user.dto.UserResponseDto;
 import com.wine.ecommerce.user.dto.UserSummaryDto;
+import com.wine.ecommerce.user.enums.TotalCountMode;
 import com.wine.ecommerce.user.enums.UserRole;
+import com.wine.ecommerce.user.enums.UserSortField;
 import com.wine.ecommerce.user.enums.UserStatus;
 import com.wine.ecommerce.user.mappers.UserMapper;
 import com.wine.ecommerce.user.repositories.UserRepository;
+import com.wine.ecommerce.user.repositories.projections.UserKeyset;
+import com.wine.ecommerce.user.repositories.projections.UserRoleRow;
+import com.wine.ecommerce.user.repositories.projections.UserSummaryRow;
+import com.wine.ecommerce.user.utils.UserCursorCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
@@ -26,30 +40,99 @@ public class UserQueryService {
     private final UserManagementService userManagementService;
     private final UserMapper userMapper;
 
-    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
     public UserResponseDto getUserDetails(UUID userId) {
         log.debug("Fetching user details for ID: {}", userId);
         return userMapper.toResponseDto(userManagementService.findUserById(userId));
     }
 
-    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
     public Page<UserSummaryDto> getAllUsers(Pageable pageable) {
         log.debug("Fetching all users with pagination: {}", pageable);
-        return userRepository.findAll(pageable)
-                .map(userMapper::toSummaryDto);
+        return withRoleNames(userRepository.findSummaries(pageable));
     }
 
-    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
     public Page<UserSummaryDto> getUsersByStatus(UserStatus status, Pageable pageable) {
         log.debug("Fetching users by status {} with pagination: {}", status, pageable);
-        return userRepository.findByStatus(status, pageable)
-                .map(userMapper::toSummaryDto);
+        return withRoleNames(userRepository.findSummariesByStatus(status, pageable));
     }
 
-    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
     public Page<UserSummaryDto> getUsersByRole(UserRole role, Pageable pageable) {
         log.debug("Fetching users by role {} with pagination: {}", role, pageable);
-        return userRepository.findByRoles_Name(role, pageable)
-                .map(userMapper::toSummaryDto);
+        return withRoleNames(userRepository.findSummariesByRole(role, pageable));
+    }
+
+    /**
+     * Pagination par curseur : chaque page est une recherche d'index sur le tri demandé,
+     * à coût constant quelle que soit sa profondeur. Le comptage total est optionnel.
+     */
+    @RequiresRole({UserRole.ADMIN, UserRole.SUPER_ADMIN})
+    public UserCursorPage getUsersByCursor(UserStatus status, UserRole role, UserSortField sortField,
+                                           boolean descending, String cursor, int size, TotalCountMode countMode) {
+        log.debug("Fetching users by cursor: status={}, role={}, sort={} {}, size={}",
+                status, role, sortField, descending ? "desc" : "asc", size);
+        int pageSize = Math.clamp(size, 1, UserConstants.Pagination.MAX_CURSOR_PAGE_SIZE);
+        UserKeyset after = StringUtils.hasText(cursor)
+                ? UserCursorCodec.decode(cursor, sortField, descending)
+                : null;
+
+        // Une ligne de plus que la page indique s'il reste des éléments, sans comptage
+        List<UserSummaryRow> rows = userRepository.findSummariesAfter(
+                status, role, sortField, descending, after, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) {
+            rows = rows.subList(0, pageSize);
+        }
+        String nextCursor = hasNext
+                ? UserCursorCodec.encode(sortField, descending, rows.getLast())
+                : null;
+
+        Map<UUID, Set<String>> roleNamesByUser = roleNamesOf(rows.stream().map(UserSummaryRow::id).toList());
+        List<UserSummaryDto> content = rows.stream()
+                .map(row -> toSummaryDto(row, roleNamesByUser.getOrDefault(row.id(), Set.of())))
+                .toList();
+
+        Long total = null;
+        boolean estimated = false;
+        if (countMode == TotalCountMode.ESTIMATED && status == null && role == null) {
+            long estimate = userRepository.estimateUserCount();
+            // Table jamais analysée : l'estimation n'est pas disponible
+            if (estimate >= 0) {
+                total = estimate;
+                estimated = true;
+            }
+        }
+        if (total == null && countMode != TotalCountMode.NONE) {
+            total = userRepository.countSummaries(status, role);
+        }
+        return new UserCursorPage(content, pageSize, nextCursor, hasNext, total, estimated);
+    }
+
+    /**
+     * Complète une page de projections avec les noms de rôles, lus en une seule requête
+     * pour toute la page : deux requêtes (plus le comptage) quelle que soit sa taille.
+     */
+    private Page<UserSummaryDto> withRoleNames(Page<UserSummaryRow> rows) {
+        Map<UUID, Set<String>> roleNamesByUser = roleNamesOf(rows.map(UserSummaryRow::id).getContent());
+        return rows.map(row -> toSummaryDto(row, roleNamesByUser.getOrDefault(row.id(), Set.of())));
+    }
+
+    private Map<UUID, Set<String>> roleNamesOf(List<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, Set<String>> roleNamesByUser = new HashMap<>(userIds.size() * 2);
+        for (UserRoleRow userRole : userRepository.findRolesByUserIds(userIds)) {
+            roleNamesByUser.computeIfAbsent(userRole.userId(), id -> new HashSet<>(2))
+                    .add(userRole.role().getDisplayName());
+        }
+        return roleNamesByUser;
+    }
+
+    private static UserSummaryDto toSummaryDto(UserSummaryRow row, Set<String> roleNames) {
+        return new UserSummaryDto(row.id(), row.email(), row.firstName(), row.lastName(),
+                row.status(), roleNames, row.createdAt());
     }
 }
\ No newline at end of file
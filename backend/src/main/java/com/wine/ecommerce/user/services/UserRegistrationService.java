@@ -1,5 +1,6 @@
 package com.wine.ecommerce.user.services;
 
+import com.wine.ecommerce.config.security.PasswordHashingExecutor;
 import com.wine.ecommerce.user.dto.SignupRequest;
 import com.wine.ecommerce.user.entities.Role;
 import com.wine.ecommerce.user.entities.User;
@@ -12,44 +13,60 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class UserRegistrationService {
 
     private final UserRepository userRepository;
+    private final EmailExistenceIndex emailIndex;
     private final RoleService roleService;
     private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final TransactionTemplate transactionTemplate;
 
     public void registerUser(SignupRequest signUpRequest) {
         log.info("Registering new user with email: {}", signUpRequest.email());
-        
+
+        // Email déjà inscrit : refus avant le hachage, sans occuper le pool BCrypt
         validateEmailUniqueness(signUpRequest.email());
-        
-        User user = createUserFromRequest(signUpRequest);
-        assignDefaultRole(user);
-        
-        userRepository.save(user);
+
+        // Hachage avant la transaction : aucune connexion n'est retenue pendant le calcul BCrypt
+        String passwordHash = passwordHashingExecutor.execute(() -> passwordEncoder.encode(signUpRequest.password()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Inscription concurrente pendant le hachage : la contrainte d'unicité reste le dernier rempart
+            validateEmailUniqueness(signUpRequest.email());
+
+            User user = createUserFromRequest(signUpRequest, passwordHash);
+            assignDefaultRole(user);
+
+            userRepository.save(user);
+        });
         
         log.info("User registered successfully with email: {}", signUpRequest.email());
     }
 
     private void validateEmailUniqueness(String email) {
+        // Email certainement inconnu : aucune requête SQL, l'unicité reste garantie par la contrainte
+        if (!emailIndex.mightExist(email)) {
+            return;
+        }
         if (userRepository.existsByEmail(email)) {
             throw new EmailAlreadyExistsException(email);
         }
+        emailIndex.recordFalsePositive();
     }
 
-    private User createUserFromRequest(SignupRequest request) {
+    private User createUserFromRequest(SignupRequest request, String passwordHash) {
         return User.builder()
                 .firstName(request.firstName())
                 .lastName(request.lastName())
                 .email(request.email())
                 .phone(request.phone())
-                .password(passwordEncoder.encode(request.password()))
+                .password(passwordHash)
                 .status(UserStatus.ACTIVE)
                 .build();
     }
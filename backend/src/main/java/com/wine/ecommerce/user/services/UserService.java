@@ -2,13 +2,19 @@ package com.wine.ecommerce.user.services;
 
 import com.wine.ecommerce.user.dto.*;
 import com.wine.ecommerce.user.entities.User;
+import com.wine.ecommerce.user.enums.TotalCountMode;
+import com.wine.ecommerce.user.enums.UserExportFormat;
 import com.wine.ecommerce.user.enums.UserRole;
+import com.wine.ecommerce.user.enums.UserSortField;
 import com.wine.ecommerce.user.enums.UserStatus;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.UUID;
 
 @Service
@@ -18,6 +24,8 @@ public class UserService {
     private final UserManagementService userManagementService;
     private final UserQueryService userQueryService;
     private final RoleService roleService;
+    private final UserExportService userExportService;
+    private final UserImportService userImportService;
 
     public UserResponseDto createUser(CreateUserRequest request) {
         return userManagementService.createUser(request);
@@ -55,6 +63,23 @@ public class UserService {
         return userQueryService.getUsersByRole(role, pageable);
     }
 
+    public UserCursorPage getUsersByCursor(UserStatus status, UserRole role, UserSortField sortField,
+                                           boolean descending, String cursor, int size, TotalCountMode countMode) {
+        return userQueryService.getUsersByCursor(status, role, sortField, descending, cursor, size, countMode);
+    }
+
+    public long exportUsers(UserExportFormat format, OutputStream out) throws IOException {
+        return userExportService.exportUsers(format, out);
+    }
+
+    public UserImportJobDto importUsers(InputStream input, UUID jobId) {
+        return userImportService.importUsers(input, jobId);
+    }
+
+    public UserImportJobDto getImportJob(UUID jobId) {
+        return userImportService.getImportJob(jobId);
+    }
+
     public void deleteUser(UUID userId) {
         userManagementService.deleteUser(userId);
     }
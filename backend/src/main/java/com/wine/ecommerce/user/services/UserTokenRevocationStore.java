@@ -0,0 +1,42 @@
+package com.wine.ecommerce.user.services;
+
+import com.wine.ecommerce.config.jwt.TokenRevocationStore;
+import com.wine.ecommerce.user.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Révocations de tokens persistées dans la colonne {@code users.tokens_valid_after}.
+ * <p>
+ * Les lectures passent par le serveur principal (transaction non readOnly) : un réplica
+ * en retard rendrait valides des tokens qui viennent d'être révoqués.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserTokenRevocationStore implements TokenRevocationStore {
+
+    private final UserRepository userRepository;
+
+    @Override
+    @Transactional
+    public Instant findTokensValidAfter(UUID userId) {
+        return userRepository.findTokenState(userId)
+                .map(state -> state.tokensValidAfter() != null ? state.tokensValidAfter() : Instant.EPOCH)
+                .orElse(Instant.MAX);
+    }
+
+    /**
+     * Appelé après le commit de la transaction qui a modifié l'utilisateur : la révocation
+     * est écrite dans sa propre transaction.
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void revokeTokensIssuedBefore(UUID userId, Instant instant) {
+        userRepository.revokeTokensIssuedBefore(userId, instant);
+    }
+}
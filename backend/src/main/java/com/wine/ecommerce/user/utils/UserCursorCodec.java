@@ -0,0 +1,72 @@
+package com.wine.ecommerce.user.utils;
+
+import com.wine.ecommerce.user.enums.UserSortField;
+import com.wine.ecommerce.user.exceptions.UserValidationException;
+import com.wine.ecommerce.user.repositories.projections.UserKeyset;
+import com.wine.ecommerce.user.repositories.projections.UserSummaryRow;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Encodage opaque des curseurs de pagination de la liste des utilisateurs.
+ * <p>
+ * Le curseur porte le tri pour lequel il a été émis : réutilisé avec un autre tri,
+ * il est rejeté plutôt que de produire une page incohérente.
+ */
+public final class UserCursorCodec {
+
+    private static final char SEPARATOR = '|';
+
+    private UserCursorCodec() {
+        // Utility class
+    }
+
+    /**
+     * Construit le curseur désignant la position qui suit une ligne.
+     *
+     * @param sortField  le champ de tri de la page
+     * @param descending l'ordre du tri
+     * @param last       la dernière ligne de la page
+     * @return le curseur encodé en Base64url
+     */
+    public static String encode(UserSortField sortField, boolean descending, UserSummaryRow last) {
+        String key = switch (sortField) {
+            case CREATED_AT -> last.createdAt().toString();
+            case EMAIL -> last.email();
+        };
+        String raw = sortField.name() + SEPARATOR + (descending ? 'D' : 'A') + SEPARATOR + last.id() + SEPARATOR + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un curseur et vérifie qu'il correspond au tri demandé.
+     *
+     * @param cursor     le curseur reçu du client
+     * @param sortField  le champ de tri demandé
+     * @param descending l'ordre du tri demandé
+     * @return la position à partir de laquelle lire
+     * @throws UserValidationException si le curseur est illisible ou émis pour un autre tri
+     */
+    public static UserKeyset decode(String cursor, UserSortField sortField, boolean descending) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4
+                    || !parts[0].equals(sortField.name())
+                    || !parts[1].equals(descending ? "D" : "A")) {
+                throw UserValidationException.invalidCursor();
+            }
+            Object key = switch (sortField) {
+                case CREATED_AT -> LocalDateTime.parse(parts[3]);
+                case EMAIL -> parts[3];
+            };
+            return new UserKeyset(sortField, descending, key, UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw UserValidationException.invalidCursor();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.wine.ecommerce.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Règles d'accès de la chaîne de sécurité sur les endpoints hors API, application complète
+ * sur une base H2 en mémoire.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:security;MODE=PostgreSQL",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureMockMvc
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void jwksIsServedToAnonymousClients() throws Exception {
+        mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.keys").isArray());
+    }
+
+    @Test
+    void jwksIgnoresAnInvalidBearerToken() throws Exception {
+        mockMvc.perform(get("/.well-known/jwks.json").header("Authorization", "Bearer invalide"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void healthIsServedToAnonymousClients() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(jsonPath("$.status").exists());
+        mockMvc.perform(get("/actuator/health/liveness").header("Authorization", "Bearer invalide"))
+                .andExpect(status().is(not(401)));
+    }
+
+    @Test
+    void metricsRequireAuthentication() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics/jvm.memory.used"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    void metricsAreForbiddenToClients() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/info"))
+                .andExpect(status().isForbidden());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ADMIN", "SUPER_ADMIN"})
+    void metricsAreServedToAdministrators(String role) throws Exception {
+        mockMvc.perform(get("/actuator/metrics/jvm.memory.used").with(user("admin@wineecommerce.com").roles(role)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("jvm.memory.used"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.wine.ecommerce.config.jwt;
+
+import com.wine.ecommerce.user.enums.UserRole;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit de l'authentification d'une requête {@code /api/**} par token porteur.
+ * <p>
+ * - {@code pipeline} : chaîne unique résolveur → décodeur → converter, principal construit
+ *   depuis les claims (cache des tokens vérifiés désactivé)
+ * - {@code pipelineWithVerifiedTokenCache} : même chaîne, configuration par défaut
+ * - {@code legacyDoublePath} : chaîne précédée de la seconde vérification de l'ancien filtre ;
+ *   la requête SQL de {@code CustomUserDetailsService} qu'il ajoutait n'est pas reproduite,
+ *   l'écart mesuré est donc un minimum
+ * <p>
+ * Lancement : {@code mvn -B test-compile}, puis la méthode {@code main} avec le classpath de test.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthenticationPipelineBenchmark {
+
+    private HttpServletRequest request;
+    private Chain uncached;
+    private Chain cached;
+
+    @Setup
+    public void setUp() {
+        JwtProperties uncachedProperties = JwtFixtures.properties();
+        uncachedProperties.setVerifiedTokenCacheSize(0);
+        uncached = new Chain(uncachedProperties);
+        cached = new Chain(JwtFixtures.properties());
+
+        String token = uncached.jwtUtils.generateToken(
+                JwtFixtures.principal("admin@wineecommerce.com", UserRole.CLIENT, UserRole.ADMIN));
+        MockHttpServletRequest mockRequest = new MockHttpServletRequest("GET", "/api/orders");
+        mockRequest.addHeader("Authorization", "Bearer " + token);
+        request = mockRequest;
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken pipeline() {
+        return uncached.authenticate(request);
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken pipelineWithVerifiedTokenCache() {
+        return cached.authenticate(request);
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken legacyDoublePath(Blackhole blackhole) {
+        String token = uncached.resolver.resolve(request);
+        blackhole.consume(uncached.jwtUtils.extractUsername(token));
+        return uncached.authenticate(request);
+    }
+
+    /**
+     * Composants de la chaîne d'authentification, hors contexte Spring.
+     */
+    private static final class Chain {
+
+        private final JwtUtils jwtUtils;
+        private final JwtBearerTokenResolver resolver;
+        private final CustomJwtDecoder decoder;
+        private final JwtAuthenticationConverter converter;
+
+        Chain(JwtProperties properties) {
+            jwtUtils = JwtFixtures.jwtUtils(properties);
+            resolver = new JwtBearerTokenResolver(properties);
+            decoder = new CustomJwtDecoder(jwtUtils);
+            // Mode sans état : le service de chargement des utilisateurs n'est pas sollicité
+            converter = new JwtAuthenticationConverter(properties, null);
+        }
+
+        AbstractAuthenticationToken authenticate(HttpServletRequest request) {
+            return converter.convert(decoder.decode(resolver.resolve(request)));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AuthenticationPipelineBenchmark.class.getSimpleName()).build()).run();
+    }
+}
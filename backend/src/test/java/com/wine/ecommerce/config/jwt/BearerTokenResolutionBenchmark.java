@@ -0,0 +1,118 @@
+package com.wine.ecommerce.config.jwt;
+
+import com.wine.ecommerce.user.enums.UserRole;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.StringUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Surcoût par requête de la résolution du token porteur, avec et sans token.
+ * <p>
+ * Les méthodes {@code legacy*} reproduisent l'ancien filtre : suite de {@code startsWith}
+ * sur les chemins publics et contrôle de structure par {@code split("\\.")}.
+ * <p>
+ * Budget d'allocation, mesuré avec {@code -prof gc} ({@code gc.alloc.rate.norm}) : aucune
+ * allocation sur un chemin public, la seule sous-chaîne du token avec un token ; sans token,
+ * seules les allocations de la requête simulée, communes aux deux variantes.
+ * <p>
+ * Lancement : {@code mvn -B test-compile}, puis la méthode {@code main} avec le classpath de test.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BearerTokenResolutionBenchmark {
+
+    private JwtProperties properties;
+    private JwtBearerTokenResolver resolver;
+    private HttpServletRequest withToken;
+    private HttpServletRequest withoutToken;
+    private HttpServletRequest publicPath;
+
+    @Setup
+    public void setUp() {
+        properties = JwtFixtures.properties();
+        resolver = new JwtBearerTokenResolver(properties);
+        String token = JwtFixtures.jwtUtils(properties)
+                .generateToken(JwtFixtures.principal("client@wineecommerce.com", UserRole.CLIENT));
+
+        withToken = request("/api/orders", properties.getTokenPrefix() + token);
+        withoutToken = request("/api/orders", null);
+        publicPath = request("/auth/login", properties.getTokenPrefix() + token);
+    }
+
+    @Benchmark
+    public String resolveWithToken() {
+        return resolver.resolve(withToken);
+    }
+
+    @Benchmark
+    public String resolveWithoutToken() {
+        return resolver.resolve(withoutToken);
+    }
+
+    @Benchmark
+    public String resolvePublicPath() {
+        return resolver.resolve(publicPath);
+    }
+
+    @Benchmark
+    public String legacyWithToken() {
+        return legacyResolve(withToken);
+    }
+
+    @Benchmark
+    public String legacyWithoutToken() {
+        return legacyResolve(withoutToken);
+    }
+
+    @Benchmark
+    public String legacyPublicPath() {
+        return legacyResolve(publicPath);
+    }
+
+    private String legacyResolve(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.startsWith("/auth/") || path.startsWith("/swagger-ui/") || path.startsWith("/v3/api-docs/")
+                || path.startsWith("/h2-console/") || path.equals("/error")) {
+            return null;
+        }
+        String headerAuth = request.getHeader(properties.getHeaderName());
+        if (StringUtils.hasText(headerAuth) && headerAuth.startsWith(properties.getTokenPrefix())) {
+            String token = headerAuth.substring(properties.getTokenPrefix().length());
+            if (StringUtils.hasText(token) && token.split("\\.").length == 3) {
+                return token;
+            }
+        }
+        return null;
+    }
+
+    private static HttpServletRequest request(String uri, String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        return request;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BearerTokenResolutionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
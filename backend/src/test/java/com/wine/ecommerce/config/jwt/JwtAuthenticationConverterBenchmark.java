@@ -0,0 +1,98 @@
+package com.wine.ecommerce.config.jwt;
+
+import com.wine.ecommerce.user.enums.UserRole;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût du {@link JwtAuthenticationConverter} seul, sur un {@link Jwt} déjà décodé.
+ * <p>
+ * Contrairement à {@code AuthenticationPipelineBenchmark}, dominé par la vérification HMAC,
+ * aucun décodage ni signature n'est mesuré ici :
+ * <ul>
+ *     <li>{@code convert} : conversion complète en mode sans état (masque de rôles compact) ;</li>
+ *     <li>{@code authoritiesFromMask} : résolution des autorités seule, via {@link RoleAuthorities} ;</li>
+ *     <li>{@code authoritiesPerRequest} : référence, les autorités reconstruites à chaque
+ *     requête comme avant les collections partagées.</li>
+ * </ul>
+ * À lancer avec {@code -prof gc} : {@code authoritiesFromMask} doit rester à 0 octet par
+ * opération (gc.alloc.rate.norm) ; {@code convert} n'alloue que le principal, le token
+ * d'authentification et le décodage de l'ID utilisateur.
+ * <p>
+ * Lancement : {@code mvn -B test-compile}, puis la méthode {@code main} avec le classpath de test.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationConverterBenchmark {
+
+    private JwtAuthenticationConverter converter;
+    private String rolesClaim;
+    private Jwt jwt;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = JwtFixtures.properties();
+        properties.setStatelessAuthentication(true);
+        rolesClaim = properties.getRolesClaim();
+        converter = new JwtAuthenticationConverter(properties, null);
+
+        Instant issuedAt = Instant.now();
+        jwt = Jwt.withTokenValue("token")
+                .header("alg", "HS256")
+                .subject("client@wineecommerce.com")
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plusSeconds(3600))
+                .claim(properties.getUserIdClaim(), CompactClaims.encodeUserId(UUID.randomUUID()))
+                .claim(rolesClaim, (1 << UserRole.CLIENT.ordinal()) | (1 << UserRole.ADMIN.ordinal()))
+                .build();
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken convert() {
+        return converter.convert(jwt);
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> authoritiesFromMask() {
+        return RoleAuthorities.forMask(jwt.<Number>getClaim(rolesClaim).intValue());
+    }
+
+    @Benchmark
+    public List<GrantedAuthority> authoritiesPerRequest() {
+        return CompactClaims.decodeRoles(jwt.<Number>getClaim(rolesClaim).intValue()).stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.getAuthority()))
+                .toList();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationConverterBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,77 @@
+package com.wine.ecommerce.config.jwt;
+
+import com.wine.ecommerce.user.entities.UserPrincipal;
+import com.wine.ecommerce.user.enums.UserRole;
+import com.wine.ecommerce.user.enums.UserStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Construction des composants JWT hors contexte Spring, pour les tests et benchmarks.
+ */
+final class JwtFixtures {
+
+    static final String SECRET = "test-secret-key-for-jwt-token-generation-must-be-at-least-256-bits";
+
+    private JwtFixtures() {
+    }
+
+    static JwtProperties properties() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        return properties;
+    }
+
+    static JwtUtils jwtUtils(JwtProperties properties) {
+        return jwtUtils(properties, new JwtKeyManager(properties));
+    }
+
+    static JwtUtils jwtUtils(JwtProperties properties, JwtKeyManager keyManager) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new JwtUtils(properties, new JwtClaimsContext(),
+                new TokenRevocationRegistry(properties, new InMemoryRevocationStore(), meterRegistry),
+                new VerifiedTokenCache(properties, meterRegistry), keyManager, meterRegistry);
+    }
+
+    static UserPrincipal principal(String email, UserRole... roles) {
+        return UserPrincipal.builder()
+                .id(UUID.randomUUID())
+                .email(email)
+                .firstName("Jean")
+                .lastName("Dupont")
+                .status(UserStatus.ACTIVE)
+                .authorities(Arrays.stream(roles).map(role -> new SimpleGrantedAuthority(role.getAuthority())).toList())
+                .build();
+    }
+
+    /**
+     * Révocations persistées en mémoire : tout utilisateur est supposé exister.
+     */
+    static final class InMemoryRevocationStore implements TokenRevocationStore {
+
+        private final Map<UUID, Instant> tokensValidAfter = new ConcurrentHashMap<>();
+        private final AtomicInteger reads = new AtomicInteger();
+
+        @Override
+        public Instant findTokensValidAfter(UUID userId) {
+            reads.incrementAndGet();
+            return tokensValidAfter.getOrDefault(userId, Instant.EPOCH);
+        }
+
+        @Override
+        public void revokeTokensIssuedBefore(UUID userId, Instant instant) {
+            tokensValidAfter.merge(userId, instant, (previous, current) -> current.isAfter(previous) ? current : previous);
+        }
+
+        int reads() {
+            return reads.get();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.wine.ecommerce.config.jwt;
+
+import com.wine.ecommerce.user.enums.UserRole;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyManagerTest {
+
+    @TempDir
+    Path keyDirectory;
+
+    @Test
+    void es256WithoutKeyFilesFailsAtStartup() {
+        JwtProperties properties = JwtFixtures.properties();
+        properties.setSigningAlgorithm(JwtSigningAlgorithm.ES256);
+
+        assertThatThrownBy(() -> new JwtKeyManager(properties))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("app.jwt.private-key-location");
+    }
+
+    @Test
+    void es256GeneratesKeysOnlyWhenEphemeralKeysAreAllowed() {
+        JwtProperties properties = JwtFixtures.properties();
+        properties.setSigningAlgorithm(JwtSigningAlgorithm.ES256);
+        properties.setEphemeralKeys(true);
+
+        assertThat(new JwtKeyManager(properties).currentKey().algorithm()).isEqualTo(SignatureAlgorithm.ES256);
+    }
+
+    @Test
+    void rotationReloadsKeyFilesAndKeepsAcceptingThePreviousKey() throws IOException {
+        JwtProperties properties = JwtFixtures.properties();
+        properties.setSigningAlgorithm(JwtSigningAlgorithm.ES256);
+        properties.setPrivateKeyLocation(new FileSystemResource(keyDirectory.resolve("jwt-private.pem")));
+        properties.setPublicKeyLocation(new FileSystemResource(keyDirectory.resolve("jwt-public.pem")));
+        writeKeyFiles(Keys.keyPairFor(SignatureAlgorithm.ES256));
+
+        JwtKeyManager keyManager = new JwtKeyManager(properties);
+        JwtUtils jwtUtils = JwtFixtures.jwtUtils(properties, keyManager);
+        String previousKid = keyManager.currentKey().kid();
+        String previousToken = jwtUtils.generateToken(JwtFixtures.principal("client@wineecommerce.com", UserRole.CLIENT));
+
+        keyManager.rotate();
+        assertThat(keyManager.currentKey().kid()).isEqualTo(previousKid);
+
+        writeKeyFiles(Keys.keyPairFor(SignatureAlgorithm.ES256));
+        keyManager.rotate();
+
+        assertThat(keyManager.currentKey().kid()).isNotEqualTo(previousKid);
+        assertThat(jwtUtils.parseAndValidateToken(previousToken).getSubject()).isEqualTo("client@wineecommerce.com");
+        assertThat(keyManager.publicJwks().get("keys")).asList().hasSize(2);
+    }
+
+    @Test
+    void restartKeepsAcceptingThePreviousKeyListedAsAdditional() throws IOException {
+        KeyPair previousKeys = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        writeKeyFiles(previousKeys);
+        JwtProperties properties = es256Properties();
+        String previousToken = JwtFixtures.jwtUtils(properties)
+                .generateToken(JwtFixtures.principal("client@wineecommerce.com", UserRole.CLIENT));
+
+        // Nouvelle paire en place, ancienne clé publique conservée, puis redémarrage
+        writeKeyFiles(Keys.keyPairFor(SignatureAlgorithm.ES256));
+        properties.setAdditionalPublicKeyLocations(List.of(writePublicKey("jwt-public-previous.pem", previousKeys)));
+        JwtKeyManager restarted = new JwtKeyManager(properties);
+
+        assertThat(JwtFixtures.jwtUtils(properties, restarted).parseAndValidateToken(previousToken).getSubject())
+                .isEqualTo("client@wineecommerce.com");
+        assertThat(restarted.publicJwks().get("keys")).asList().hasSize(2);
+    }
+
+    @Test
+    void nextKeyIsAcceptedBeforeThisInstanceSignsWithIt() throws IOException {
+        KeyPair nextKeys = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        writeKeyFiles(nextKeys);
+        // Instance déjà passée à la nouvelle clé
+        String tokenFromRotatedInstance = JwtFixtures.jwtUtils(es256Properties())
+                .generateToken(JwtFixtures.principal("client@wineecommerce.com", UserRole.CLIENT));
+
+        writeKeyFiles(Keys.keyPairFor(SignatureAlgorithm.ES256));
+        JwtProperties properties = es256Properties();
+        properties.setAdditionalPublicKeyLocations(List.of(writePublicKey("jwt-public-next.pem", nextKeys)));
+        JwtKeyManager keyManager = new JwtKeyManager(properties);
+
+        assertThat(JwtFixtures.jwtUtils(properties, keyManager).parseAndValidateToken(tokenFromRotatedInstance)
+                .getSubject()).isEqualTo("client@wineecommerce.com");
+        assertThat(keyManager.publicJwks().get("keys")).asList().hasSize(2);
+    }
+
+    private JwtProperties es256Properties() {
+        JwtProperties properties = JwtFixtures.properties();
+        properties.setSigningAlgorithm(JwtSigningAlgorithm.ES256);
+        properties.setPrivateKeyLocation(new FileSystemResource(keyDirectory.resolve("jwt-private.pem")));
+        properties.setPublicKeyLocation(new FileSystemResource(keyDirectory.resolve("jwt-public.pem")));
+        return properties;
+    }
+
+    private void writeKeyFiles(KeyPair keyPair) throws IOException {
+        Files.writeString(keyDirectory.resolve("jwt-private.pem"), pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()),
+                StandardCharsets.US_ASCII);
+        Files.writeString(keyDirectory.resolve("jwt-public.pem"), pem("PUBLIC KEY", keyPair.getPublic().getEncoded()),
+                StandardCharsets.US_ASCII);
+    }
+
+    private Resource writePublicKey(String fileName, KeyPair keyPair) throws IOException {
+        Path file = keyDirectory.resolve(fileName);
+        Files.writeString(file, pem("PUBLIC KEY", keyPair.getPublic().getEncoded()), StandardCharsets.US_ASCII);
+        return new FileSystemResource(file);
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder().encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+}
@@ -0,0 +1,87 @@
+package com.wine.ecommerce.config.jwt;
+
+import com.wine.ecommerce.user.entities.UserPrincipal;
+import com.wine.ecommerce.user.enums.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit de signature et de vérification des tokens d'accès pour chaque algorithme supporté.
+ * <p>
+ * La vérification est mesurée cache des tokens vérifiés désactivé : chaque appel vérifie
+ * la signature. En ES256, les clés sont fournies au format PEM, comme en production.
+ * <p>
+ * Lancement : {@code mvn -B test-compile}, puis la méthode {@code main} avec le classpath de test.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtSigningBenchmark {
+
+    @Param({"HS256", "ES256"})
+    private JwtSigningAlgorithm algorithm;
+
+    private JwtUtils jwtUtils;
+    private UserPrincipal principal;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = JwtFixtures.properties();
+        properties.setVerifiedTokenCacheSize(0);
+        properties.setSigningAlgorithm(algorithm);
+        if (algorithm == JwtSigningAlgorithm.ES256) {
+            KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+            properties.setPrivateKeyLocation(pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+            properties.setPublicKeyLocation(pem("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+        }
+        jwtUtils = JwtFixtures.jwtUtils(properties);
+        principal = JwtFixtures.principal("client@wineecommerce.com", UserRole.CLIENT);
+        token = jwtUtils.generateToken(principal);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtUtils.generateToken(principal);
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return jwtUtils.parseAndValidateToken(token);
+    }
+
+    private static ByteArrayResource pem(String type, byte[] der) {
+        String pem = "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder().encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+        return new ByteArrayResource(pem.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtSigningBenchmark.class.getSimpleName()).build()).run();
+    }
+}
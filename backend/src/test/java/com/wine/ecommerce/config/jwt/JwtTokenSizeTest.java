@@ -0,0 +1,39 @@
+package com.wine.ecommerce.config.jwt;
+
+import com.wine.ecommerce.user.enums.UserRole;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Taille maximale d'un token d'accès : utilisateur portant tous les rôles, avec un email
+ * de 100 caractères (taille maximale de la colonne).
+ * <p>
+ * Les budgets sont exacts au caractère près, pour le pire cas du claim {@code ims}
+ * (3 chiffres) : tout claim ajouté au token doit les réviser explicitement.
+ */
+class JwtTokenSizeTest {
+
+    private static final String DOMAIN = "@wineecommerce.com";
+    private static final String LONGEST_EMAIL = "c".repeat(100 - DOMAIN.length()) + DOMAIN;
+
+    @ParameterizedTest
+    @CsvSource({
+            "HS256, 387",
+            "ES256, 430"
+    })
+    void tokenForLargestPrincipalStaysWithinBudget(JwtSigningAlgorithm algorithm, int budget) {
+        JwtProperties properties = JwtFixtures.properties();
+        properties.setSigningAlgorithm(algorithm);
+        properties.setEphemeralKeys(true);
+        JwtUtils jwtUtils = JwtFixtures.jwtUtils(properties);
+
+        String token = jwtUtils.generateToken(JwtFixtures.principal(LONGEST_EMAIL, UserRole.values()));
+
+        assertThat(token.length())
+                .isLessThanOrEqualTo(budget)
+                .isLessThanOrEqualTo(properties.getMaxTokenLength());
+        assertThat(jwtUtils.extractRoles(token)).containsExactlyInAnyOrder("SUPER_ADMIN", "ADMIN", "CLIENT");
+    }
+}
@@ -0,0 +1,85 @@
+package com.wine.ecommerce.config.jwt;
+
+import com.wine.ecommerce.user.enums.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de vérification d'un token d'accès HS256.
+ * <p>
+ * - {@code rebuiltKeyAndParser} : ancien comportement, clé HMAC et parser reconstruits à chaque appel
+ * - {@code sharedParser} : clé et parser construits une fois ({@link JwtUtils}, cache de tokens désactivé)
+ * - {@code verifiedTokenCache} : token déjà vérifié servi par le {@link VerifiedTokenCache}
+ * <p>
+ * Lancement : {@code mvn -B test-compile}, puis la méthode {@code main} avec le classpath de test.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerifyBenchmark {
+
+    private JwtProperties properties;
+    private JwtUtils sharedParser;
+    private JwtUtils verifiedTokenCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        properties = JwtFixtures.properties();
+        properties.setVerifiedTokenCacheSize(0);
+        sharedParser = JwtFixtures.jwtUtils(properties);
+
+        JwtProperties cached = JwtFixtures.properties();
+        verifiedTokenCache = JwtFixtures.jwtUtils(cached);
+
+        // Même secret : le token est accepté par les trois variantes
+        token = sharedParser.generateToken(JwtFixtures.principal("client@wineecommerce.com", UserRole.CLIENT));
+        verifiedTokenCache.parseAndValidateToken(token);
+    }
+
+    @Benchmark
+    public Claims rebuiltKeyAndParser() {
+        Key key = Keys.hmacShaKeyFor(properties.getSecret().getBytes(StandardCharsets.UTF_8));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .requireIssuer(properties.getIssuer())
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Benchmark
+    public Claims sharedParser() {
+        return sharedParser.parseAndValidateToken(token);
+    }
+
+    @Benchmark
+    public Claims verifiedTokenCache() {
+        return verifiedTokenCache.parseAndValidateToken(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtVerifyBenchmark.class.getSimpleName()).build()).run();
+    }
+}
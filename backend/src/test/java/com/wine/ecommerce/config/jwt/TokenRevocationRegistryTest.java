@@ -0,0 +1,117 @@
+package com.wine.ecommerce.config.jwt;
+
+import com.wine.ecommerce.config.jwt.exceptions.JwtTokenException;
+import com.wine.ecommerce.user.entities.UserPrincipal;
+import com.wine.ecommerce.user.enums.UserStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenRevocationRegistryTest {
+
+    private JwtProperties properties;
+    private JwtFixtures.InMemoryRevocationStore store;
+    private TokenRevocationRegistry registry;
+    private JwtUtils jwtUtils;
+
+    @BeforeEach
+    void setUp() {
+        properties = new JwtProperties();
+        properties.setSecret("test-secret-key-for-jwt-token-generation-must-be-at-least-256-bits");
+        properties.setRevocationMaxEntries(100);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        store = new JwtFixtures.InMemoryRevocationStore();
+        registry = new TokenRevocationRegistry(properties, store, meterRegistry);
+        jwtUtils = new JwtUtils(properties, new JwtClaimsContext(), registry,
+                new VerifiedTokenCache(properties, meterRegistry), new JwtKeyManager(properties), meterRegistry);
+    }
+
+    @Test
+    void tokenIssuedRightAfterLogoutIsAccepted() throws Exception {
+        UserPrincipal user = principal(UUID.randomUUID());
+        String beforeLogout = jwtUtils.generateToken(user);
+
+        Thread.sleep(2);
+        jwtUtils.revokeUserTokens(user.getId());
+        Thread.sleep(2);
+        String afterLogin = jwtUtils.generateToken(user);
+
+        assertThat(jwtUtils.parseAndValidateToken(afterLogin).getSubject()).isEqualTo(user.getUsername());
+        assertThatThrownBy(() -> jwtUtils.parseAndValidateToken(beforeLogout))
+                .isInstanceOf(JwtTokenException.class);
+    }
+
+    @Test
+    void tokenWithoutMillisecondsIsRevokedWithinTheRevocationSecond() {
+        UUID userId = UUID.randomUUID();
+        registry.revokeUserTokens(userId);
+        Instant revocationSecond = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        assertThat(registry.isRevoked(userId, revocationSecond)).isTrue();
+        assertThat(registry.isRevoked(userId, Instant.now().plusMillis(1))).isFalse();
+    }
+
+    @Test
+    void evictedRevocationIsReloadedFromStore() {
+        UUID first = UUID.randomUUID();
+        registry.revokeUserTokens(first);
+        Instant issuedBefore = Instant.now().minusSeconds(1);
+        for (int i = 0; i < properties.getRevocationMaxEntries() * 3; i++) {
+            registry.revokeUserTokens(UUID.randomUUID());
+        }
+        Instant issuedAfter = Instant.now().plusMillis(1);
+
+        assertThat(registry.isRevoked(first, issuedBefore)).isTrue();
+        // Un utilisateur jamais révoqué n'est pas déconnecté par le débordement du registre
+        assertThat(registry.isRevoked(UUID.randomUUID(), issuedBefore)).isFalse();
+        assertThat(registry.isRevoked(first, issuedAfter)).isFalse();
+        assertThat(store.reads()).isPositive();
+    }
+
+    @Test
+    void revocationSurvivesRestart() {
+        UUID userId = UUID.randomUUID();
+        Instant issuedBefore = Instant.now().minusSeconds(1);
+        registry.revokeUserTokens(userId);
+
+        TokenRevocationRegistry restarted = new TokenRevocationRegistry(properties, store, new SimpleMeterRegistry());
+
+        assertThat(restarted.isRevoked(userId, issuedBefore)).isTrue();
+        assertThat(restarted.isRevoked(userId, Instant.now().plusMillis(1))).isFalse();
+    }
+
+    @Test
+    void tokenIsRejectedWhenStoreIsUnavailable() {
+        TokenRevocationStore unavailable = new TokenRevocationStore() {
+            @Override
+            public Instant findTokensValidAfter(UUID userId) {
+                throw new IllegalStateException("base indisponible");
+            }
+
+            @Override
+            public void revokeTokensIssuedBefore(UUID userId, Instant instant) {
+            }
+        };
+        TokenRevocationRegistry failing = new TokenRevocationRegistry(properties, unavailable, new SimpleMeterRegistry());
+
+        assertThat(failing.isRevoked(UUID.randomUUID(), Instant.now())).isTrue();
+    }
+
+    private static UserPrincipal principal(UUID id) {
+        return UserPrincipal.builder()
+                .id(id)
+                .email("client@wineecommerce.com")
+                .status(UserStatus.ACTIVE)
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_CLIENT")))
+                .build();
+    }
+}
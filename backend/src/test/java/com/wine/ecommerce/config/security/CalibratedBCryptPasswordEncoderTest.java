@@ -0,0 +1,24 @@
+package com.wine.ecommerce.config.security;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CalibratedBCryptPasswordEncoderTest {
+
+    private final CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(12);
+
+    @ParameterizedTest
+    @CsvSource({
+            "$2a$10$abcdefghijklmnopqrstuu, true",
+            "$2a$11$abcdefghijklmnopqrstuu, true",
+            "$2a$12$abcdefghijklmnopqrstuu, false",
+            // Un hash plus fort (autre instance, ancien coût) n'est jamais affaibli
+            "$2a$14$abcdefghijklmnopqrstuu, false",
+            "not-a-bcrypt-hash, false"
+    })
+    void onlyWeakerHashesAreUpgraded(String encodedPassword, boolean upgraded) {
+        assertThat(encoder.upgradeEncoding(encodedPassword)).isEqualTo(upgraded);
+    }
+}
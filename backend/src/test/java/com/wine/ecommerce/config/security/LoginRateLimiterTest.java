@@ -0,0 +1,95 @@
+package com.wine.ecommerce.config.security;
+
+import com.wine.ecommerce.config.security.LoginRateLimiter.SlidingWindowSketch;
+import com.wine.ecommerce.core.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginRateLimiterTest {
+
+    private static final long WINDOW = 60_000;
+    /** Instant aligné sur le début d'une fenêtre. */
+    private static final long START = 1_000 * WINDOW;
+
+    @Test
+    void previousWindowIsWeightedByItsRemainingShare() {
+        SlidingWindowSketch sketch = new SlidingWindowSketch(64);
+        for (int i = 0; i < 10; i++) {
+            sketch.increment("client@wineecommerce.com", START, WINDOW);
+        }
+
+        assertThat(sketch.increment("client@wineecommerce.com", START + WINDOW + WINDOW / 2, WINDOW)).isEqualTo(5);
+        assertThat(sketch.increment("client@wineecommerce.com", START + WINDOW + WINDOW / 2, WINDOW)).isEqualTo(6);
+        // Les 2 tentatives de la mi-fenêtre deviennent la fenêtre précédente, entièrement couverte
+        assertThat(sketch.increment("client@wineecommerce.com", START + 2 * WINDOW, WINDOW)).isEqualTo(2);
+        assertThat(sketch.increment("client@wineecommerce.com", START + 4 * WINDOW, WINDOW)).isZero();
+    }
+
+    @Test
+    void counterSaturatesAtSixteenBits() {
+        SlidingWindowSketch sketch = new SlidingWindowSketch(64);
+        for (int i = 0; i < 0xFFFF + 10; i++) {
+            sketch.increment("10.0.0.1", START, WINDOW);
+        }
+
+        assertThat(sketch.increment("10.0.0.1", START, WINDOW)).isEqualTo(0xFFFF);
+        assertThat(sketch.increment("10.0.0.1", START + WINDOW, WINDOW)).isEqualTo(0xFFFF);
+        assertThat(sketch.increment("10.0.0.1", START + 3 * WINDOW, WINDOW)).isZero();
+    }
+
+    @Test
+    void collisionsOnlyOverestimate() {
+        SlidingWindowSketch sketch = new SlidingWindowSketch(2);
+        Map<String, Integer> attempts = new HashMap<>();
+        for (int i = 0; i < 1_000; i++) {
+            String key = "user-" + (i % 7) + "@wineecommerce.com";
+            int actual = attempts.merge(key, 1, Integer::sum) - 1;
+            assertThat(sketch.increment(key, START, WINDOW)).isGreaterThanOrEqualTo(actual);
+        }
+    }
+
+    @Test
+    void sizedSketchAbsorbsExpectedDistinctKeys() {
+        int expectedKeys = 40_000;
+        int limit = 10;
+        SlidingWindowSketch sketch = new SlidingWindowSketch(SlidingWindowSketch.countersPerRow(expectedKeys, limit));
+        for (int i = 0; i < expectedKeys; i++) {
+            sketch.increment("random-" + i + "@attacker.test", START, WINDOW);
+        }
+
+        int blocked = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (sketch.increment("client-" + i + "@wineecommerce.com", START, WINDOW) >= limit) {
+                blocked++;
+            }
+        }
+        assertThat(blocked).isZero();
+    }
+
+    @Test
+    void sketchWidthFollowsExpectedKeysAndLimit() {
+        assertThat(SlidingWindowSketch.countersPerRow(250_000, 10)).isEqualTo(200_000);
+        assertThat(new SlidingWindowSketch(SlidingWindowSketch.countersPerRow(250_000, 10)).width()).isEqualTo(262_144);
+        assertThat(SlidingWindowSketch.countersPerRow(1_000, 65_535)).isEqualTo(64);
+    }
+
+    @Test
+    void emailLimitIsEnforcedCaseInsensitively() {
+        LoginRateLimitProperties properties = new LoginRateLimitProperties();
+        properties.setMaxAttemptsPerEmail(3);
+        LoginRateLimiter limiter = new LoginRateLimiter(properties, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 3; i++) {
+            limiter.checkLoginAttempt("10.0.0." + i, "Client@WineEcommerce.com");
+        }
+
+        assertThatThrownBy(() -> limiter.checkLoginAttempt("10.0.0.9", " client@wineecommerce.com"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+}
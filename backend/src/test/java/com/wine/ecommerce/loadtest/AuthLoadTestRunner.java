@@ -0,0 +1,310 @@
+package com.wine.ecommerce.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wine.ecommerce.user.dto.JwtResponse;
+import com.wine.ecommerce.user.dto.LoginRequest;
+import com.wine.ecommerce.user.dto.RefreshTokenRequest;
+import com.wine.ecommerce.user.dto.SignupRequest;
+import com.wine.ecommerce.user.repositories.UserRepository;
+import com.wine.ecommerce.user.services.UserRegistrationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Banc de charge reproductible des endpoints {@code /auth/login} et {@code /auth/refresh}.
+ * <p>
+ * Activé par le profil {@code loadtest}, via {@link LoadTestApplication}, une fois l'application prête :
+ * <ol>
+ *   <li>inscrit {@code app.loadtest.users} comptes via {@link UserRegistrationService}
+ *       (comptes existants réutilisés), ce qui mesure aussi le coût du hachage à l'inscription ;</li>
+ *   <li>lance {@code app.loadtest.concurrency} clients virtuels qui enchaînent logins et refresh
+ *       selon {@code app.loadtest.refresh-ratio}, chacun sur ses propres comptes (un compte n'a
+ *       qu'un refresh token actif) ;</li>
+ *   <li>après la chauffe, mesure pendant {@code app.loadtest.duration} puis journalise le débit
+ *       et les percentiles p50/p90/p99 de chaque opération.</li>
+ * </ol>
+ * Le banc échoue (code de sortie 1) si le taux d'erreur ou un p99 dépasse les seuils configurés,
+ * ce qui permet de l'exécuter en intégration continue contre une base PostgreSQL locale.
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+@RequiredArgsConstructor
+public class AuthLoadTestRunner {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestProperties properties;
+    private final UserRegistrationService userRegistrationService;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationContext applicationContext;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void run() throws Exception {
+        LatencyRecorder.Summary registration = seedUsers();
+
+        int clients = Math.min(properties.getConcurrency(), properties.getUsers());
+        if (clients < properties.getConcurrency()) {
+            log.warn("Concurrence réduite à {} : un compte de test par client virtuel au minimum", clients);
+        }
+        String baseUrl = resolveBaseUrl();
+        log.info("Banc de charge sur {} : {} clients, chauffe {}, mesure {}, part de refresh {}",
+                baseUrl, clients, properties.getWarmup(), properties.getDuration(), properties.getRefreshRatio());
+
+        List<VirtualClient> virtualClients = runClients(baseUrl, clients);
+
+        List<LatencyRecorder.Summary> summaries = List.of(
+                registration,
+                LatencyRecorder.summarize("login", virtualClients.stream().map(VirtualClient::logins).toList(),
+                        properties.getDuration()),
+                LatencyRecorder.summarize("refresh", virtualClients.stream().map(VirtualClient::refreshes).toList(),
+                        properties.getDuration()));
+        report(summaries);
+
+        boolean passed = checkThresholds(summaries);
+        if (properties.isExitOnCompletion()) {
+            int exitCode = passed ? 0 : 1;
+            System.exit(SpringApplication.exit(applicationContext, () -> exitCode));
+        }
+    }
+
+    /**
+     * Inscrit les comptes de test manquants, en parallèle.
+     */
+    private LatencyRecorder.Summary seedUsers() throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+        AtomicInteger existing = new AtomicInteger();
+        long start = System.nanoTime();
+
+        int threads = Math.min(properties.getConcurrency(), Runtime.getRuntime().availableProcessors());
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> registrations = new ArrayList<>(properties.getUsers());
+            for (int i = 0; i < properties.getUsers(); i++) {
+                String email = properties.emailOf(i);
+                registrations.add(executor.submit(() -> {
+                    if (userRepository.existsByEmail(email)) {
+                        existing.incrementAndGet();
+                        return;
+                    }
+                    long requestStart = System.nanoTime();
+                    try {
+                        userRegistrationService.registerUser(new SignupRequest(
+                                "Load", "Test", email, null, properties.getPassword()));
+                        synchronized (recorder) {
+                            recorder.record(System.nanoTime() - requestStart);
+                        }
+                    } catch (RuntimeException e) {
+                        synchronized (recorder) {
+                            recorder.error(e.getClass().getSimpleName());
+                        }
+                    }
+                }));
+            }
+            for (Future<?> registration : registrations) {
+                registration.get();
+            }
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        log.info("{} comptes de test prêts en {} ms ({} existants)",
+                properties.getUsers(), elapsed.toMillis(), existing.get());
+        return LatencyRecorder.summarize("register", List.of(recorder), elapsed);
+    }
+
+    private List<VirtualClient> runClients(String baseUrl, int clients) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+
+        long measureStart = System.nanoTime() + properties.getWarmup().toNanos();
+        long measureEnd = measureStart + properties.getDuration().toNanos();
+
+        List<VirtualClient> virtualClients = new ArrayList<>(clients);
+        for (int c = 0; c < clients; c++) {
+            virtualClients.add(new VirtualClient(baseUrl, httpClient, accountsOf(c, clients), measureStart, measureEnd));
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> running = new ArrayList<>(clients);
+            for (VirtualClient client : virtualClients) {
+                running.add(executor.submit(client::run));
+            }
+            for (Future<?> client : running) {
+                client.get();
+            }
+        }
+        return virtualClients;
+    }
+
+    /**
+     * Comptes attribués au client d'indice donné : un compte sur {@code clients}.
+     */
+    private List<String> accountsOf(int client, int clients) {
+        List<String> accounts = new ArrayList<>();
+        for (int i = client; i < properties.getUsers(); i += clients) {
+            accounts.add(properties.emailOf(i));
+        }
+        return accounts;
+    }
+
+    private String resolveBaseUrl() {
+        if (StringUtils.hasText(properties.getTargetUrl())) {
+            return properties.getTargetUrl();
+        }
+        int port = ((WebServerApplicationContext) applicationContext).getWebServer().getPort();
+        return "http://localhost:" + port;
+    }
+
+    private void report(List<LatencyRecorder.Summary> summaries) {
+        log.info(String.format("%-10s %10s %8s %12s %10s %10s %10s %10s",
+                "opération", "succès", "erreurs", "débit (r/s)", "p50 (ms)", "p90 (ms)", "p99 (ms)", "max (ms)"));
+        for (LatencyRecorder.Summary summary : summaries) {
+            log.info(String.format("%-10s %10d %8d %12.1f %10.2f %10.2f %10.2f %10.2f",
+                    summary.operation(), summary.successes(), summary.errors(), summary.throughput(),
+                    millis(summary.p50()), millis(summary.p90()), millis(summary.p99()), millis(summary.max())));
+            if (summary.errors() > 0) {
+                log.info("{} - erreurs par cause: {}", summary.operation(), summary.errorsByCause());
+            }
+        }
+    }
+
+    private boolean checkThresholds(List<LatencyRecorder.Summary> summaries) {
+        boolean passed = true;
+        for (LatencyRecorder.Summary summary : summaries) {
+            if (summary.errorRate() > properties.getMaxErrorRate()) {
+                log.error("Seuil dépassé : taux d'erreur {} de {} > {}",
+                        summary.operation(), summary.errorRate(), properties.getMaxErrorRate());
+                passed = false;
+            }
+            Duration maxP99 = switch (summary.operation()) {
+                case "login" -> properties.getMaxLoginP99();
+                case "refresh" -> properties.getMaxRefreshP99();
+                default -> null;
+            };
+            if (maxP99 != null && summary.p99().compareTo(maxP99) > 0) {
+                log.error("Seuil dépassé : p99 {} de {} ms > {} ms",
+                        summary.operation(), millis(summary.p99()), maxP99.toMillis());
+                passed = false;
+            }
+        }
+        log.info(passed ? "Banc de charge réussi" : "Banc de charge en échec");
+        return passed;
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1e6;
+    }
+
+    /**
+     * Client virtuel : enchaîne logins et refresh sur ses comptes jusqu'à la fin de la mesure.
+     * Les latences ne sont enregistrées qu'après la chauffe.
+     */
+    private final class VirtualClient {
+
+        private final String baseUrl;
+        private final HttpClient httpClient;
+        private final List<String> accounts;
+        private final String[] refreshTokens;
+        private final long measureStart;
+        private final long measureEnd;
+        private final LatencyRecorder logins = new LatencyRecorder();
+        private final LatencyRecorder refreshes = new LatencyRecorder();
+
+        VirtualClient(String baseUrl, HttpClient httpClient, List<String> accounts, long measureStart, long measureEnd) {
+            this.baseUrl = baseUrl;
+            this.httpClient = httpClient;
+            this.accounts = accounts;
+            this.refreshTokens = new String[accounts.size()];
+            this.measureStart = measureStart;
+            this.measureEnd = measureEnd;
+        }
+
+        LatencyRecorder logins() {
+            return logins;
+        }
+
+        LatencyRecorder refreshes() {
+            return refreshes;
+        }
+
+        void run() {
+            int account = 0;
+            long now;
+            while ((now = System.nanoTime()) < measureEnd) {
+                boolean measuring = now >= measureStart;
+                boolean refresh = refreshTokens[account] != null
+                        && ThreadLocalRandom.current().nextDouble() < properties.getRefreshRatio();
+
+                if (refresh) {
+                    refreshTokens[account] = call("/auth/refresh", new RefreshTokenRequest(refreshTokens[account]),
+                            measuring ? refreshes : null);
+                } else {
+                    refreshTokens[account] = call("/auth/login",
+                            new LoginRequest(accounts.get(account), properties.getPassword()),
+                            measuring ? logins : null);
+                }
+                account = (account + 1) % accounts.size();
+            }
+        }
+
+        /**
+         * Envoie une requête d'authentification.
+         *
+         * @return le nouveau refresh token, ou null en cas d'échec
+         */
+        private String call(String path, Object body, LatencyRecorder recorder) {
+            long start = System.nanoTime();
+            try {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .timeout(REQUEST_TIMEOUT)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                        .build();
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                long elapsed = System.nanoTime() - start;
+
+                if (response.statusCode() != 200) {
+                    if (recorder != null) {
+                        recorder.error("HTTP " + response.statusCode());
+                    }
+                    return null;
+                }
+                if (recorder != null) {
+                    recorder.record(elapsed);
+                }
+                return objectMapper.readValue(response.body(), JwtResponse.class).refreshToken();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Client virtuel interrompu", e);
+            } catch (Exception e) {
+                if (recorder != null) {
+                    recorder.error(e.getClass().getSimpleName());
+                }
+                return null;
+            }
+        }
+    }
+}
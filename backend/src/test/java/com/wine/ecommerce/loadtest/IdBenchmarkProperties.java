@@ -0,0 +1,44 @@
+package com.wine.ecommerce.loadtest;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Paramètres du banc d'insertion comparant les clés UUID v4 et v7 (profil {@code id-benchmark}).
+ */
+@Data
+@Component
+@Profile("id-benchmark")
+@ConfigurationProperties(prefix = "app.id-benchmark")
+@Validated
+public class IdBenchmarkProperties {
+
+    /**
+     * Nombre de lignes insérées par stratégie. L'écart se creuse lorsque l'index de clé
+     * primaire dépasse {@code shared_buffers}.
+     */
+    @Min(value = 1000, message = "Au moins 1000 lignes sont nécessaires")
+    private int rows = 1_000_000;
+
+    /**
+     * Nombre de lignes par batch JDBC (et par transaction).
+     */
+    @Min(value = 1, message = "La taille des batchs doit être d'au moins 1 ligne")
+    @Max(value = 10000, message = "La taille des batchs ne peut pas dépasser 10000 lignes")
+    private int batchSize = 1000;
+
+    /**
+     * Conserve les tables du banc pour inspection.
+     */
+    private boolean keepTables = false;
+
+    /**
+     * Arrête l'application une fois le banc terminé.
+     */
+    private boolean exitOnCompletion = true;
+}
@@ -0,0 +1,121 @@
+package com.wine.ecommerce.loadtest;
+
+import com.wine.ecommerce.core.id.UuidV7Generator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Banc d'insertion mesurant l'effet de l'ordre des clés UUID sur l'index de clé primaire.
+ * <p>
+ * Activé par le profil {@code id-benchmark}, via {@link LoadTestApplication}, une fois
+ * l'application prête : pour chaque stratégie (UUID v4 aléatoire, UUID v7 ordonné), insère
+ * {@code app.id-benchmark.rows} lignes par batchs JDBC dans une table dédiée, de forme
+ * comparable à {@code users}, puis journalise :
+ * <ul>
+ *   <li>le débit d'insertion global et celui du dernier dixième, quand l'index est le plus gros ;</li>
+ *   <li>la taille de l'index de clé primaire : les éclatements de pages dus aux insertions
+ *       aléatoires le laissent à moitié rempli ;</li>
+ *   <li>les blocs d'index lus sur disque plutôt qu'en cache ({@code pg_statio_user_indexes}).</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@Profile("id-benchmark")
+@RequiredArgsConstructor
+public class IdInsertBenchmarkRunner {
+
+    private final IdBenchmarkProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationContext applicationContext;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void run() {
+        log.info("Banc d'insertion : {} lignes par stratégie, batchs de {}", properties.getRows(), properties.getBatchSize());
+
+        List<Result> results = List.of(
+                measure("uuid_v4", UUID::randomUUID),
+                measure("uuid_v7", UuidV7Generator::nextUuid));
+
+        log.info(String.format("%-8s %12s %16s %14s %14s", "clé", "lignes/s", "lignes/s (fin)", "index (Mo)", "blocs lus"));
+        for (Result result : results) {
+            log.info(String.format("%-8s %12.0f %16.0f %14.1f %14d", result.strategy(), result.rowsPerSecond(),
+                    result.tailRowsPerSecond(), result.indexBytes() / (1024.0 * 1024.0), result.indexBlocksRead()));
+        }
+
+        if (properties.isExitOnCompletion()) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    private Result measure(String strategy, Supplier<UUID> ids) {
+        String table = "id_benchmark_" + strategy;
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute("CREATE TABLE " + table + " (id uuid PRIMARY KEY, email varchar(100) NOT NULL, "
+                + "created_at timestamp NOT NULL)");
+        String insert = "INSERT INTO " + table + " (id, email, created_at) VALUES (?, ?, ?)";
+
+        int rows = properties.getRows();
+        int tailStart = rows - rows / 10;
+        long start = System.nanoTime();
+        long tailStartTime = start;
+        List<Object[]> batch = new ArrayList<>(properties.getBatchSize());
+        for (int i = 0; i < rows; i++) {
+            if (i == tailStart) {
+                flush(insert, batch);
+                tailStartTime = System.nanoTime();
+            }
+            batch.add(new Object[]{ids.get(), "bench-" + i + "@wineecommerce.com", Timestamp.from(Instant.now())});
+            if (batch.size() == properties.getBatchSize()) {
+                flush(insert, batch);
+            }
+        }
+        flush(insert, batch);
+        long end = System.nanoTime();
+
+        String index = table + "_pkey";
+        Long indexBytes = jdbcTemplate.queryForObject("SELECT pg_relation_size(?::regclass)", Long.class, index);
+        Long blocksRead = jdbcTemplate.queryForObject(
+                "SELECT idx_blks_read FROM pg_statio_user_indexes WHERE indexrelname = ?", Long.class, index);
+        if (!properties.isKeepTables()) {
+            jdbcTemplate.execute("DROP TABLE " + table);
+        }
+
+        Result result = new Result(strategy,
+                rows / seconds(end - start),
+                (rows - tailStart) / seconds(end - tailStartTime),
+                indexBytes != null ? indexBytes : 0,
+                blocksRead != null ? blocksRead : 0);
+        log.info("{} : {} lignes insérées en {} ms", strategy, rows, TimeUnit.NANOSECONDS.toMillis(end - start));
+        return result;
+    }
+
+    private void flush(String insert, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(insert, batch);
+            batch.clear();
+        }
+    }
+
+    private static double seconds(long nanos) {
+        return Math.max(nanos, 1) / 1_000_000_000.0;
+    }
+
+    private record Result(String strategy, double rowsPerSecond, double tailRowsPerSecond,
+                          long indexBytes, long indexBlocksRead) {
+    }
+}
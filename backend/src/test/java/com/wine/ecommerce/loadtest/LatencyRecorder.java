@@ -0,0 +1,78 @@
+package com.wine.ecommerce.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Enregistreur de latences d'une opération pour un client virtuel.
+ * <p>
+ * Chaque client possède son propre enregistreur (aucune synchronisation pendant la mesure) ;
+ * les enregistreurs sont fusionnés à la fin pour calculer des percentiles exacts.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private final Map<String, Integer> errors = new TreeMap<>();
+
+    void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    void error(String cause) {
+        errors.merge(cause, 1, Integer::sum);
+    }
+
+    /**
+     * Fusionne les enregistreurs des clients virtuels en un résumé.
+     *
+     * @param operation le nom de l'opération
+     * @param recorders les enregistreurs à fusionner
+     * @param elapsed la durée de la mesure
+     * @return le résumé de l'opération
+     */
+    static Summary summarize(String operation, List<LatencyRecorder> recorders, Duration elapsed) {
+        int total = recorders.stream().mapToInt(recorder -> recorder.count).sum();
+        long[] merged = new long[total];
+        Map<String, Integer> errors = new TreeMap<>();
+        int offset = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.samples, 0, merged, offset, recorder.count);
+            offset += recorder.count;
+            recorder.errors.forEach((cause, n) -> errors.merge(cause, n, Integer::sum));
+        }
+        Arrays.sort(merged);
+
+        int errorCount = errors.values().stream().mapToInt(Integer::intValue).sum();
+        double seconds = elapsed.toNanos() / 1e9;
+        return new Summary(operation, total, errorCount, errors, total / seconds,
+                percentile(merged, 0.50), percentile(merged, 0.90), percentile(merged, 0.99),
+                total > 0 ? Duration.ofNanos(merged[total - 1]) : Duration.ZERO);
+    }
+
+    private static Duration percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Duration.ZERO;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return Duration.ofNanos(sorted[Math.max(index, 0)]);
+    }
+
+    /**
+     * Résultat d'une opération : les latences ne portent que sur les requêtes réussies.
+     */
+    record Summary(String operation, int successes, int errors, Map<String, Integer> errorsByCause,
+                   double throughput, Duration p50, Duration p90, Duration p99, Duration max) {
+
+        double errorRate() {
+            int attempts = successes + errors;
+            return attempts == 0 ? 0 : (double) errors / attempts;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.wine.ecommerce.loadtest;
+
+import com.wine.ecommerce.WineEcommerceApplication;
+import org.springframework.boot.SpringApplication;
+
+/**
+ * Point d'entrée des bancs de charge, hors des sources de production.
+ * <p>
+ * Démarre l'application avec le classpath de test, qui ajoute les composants de ce paquet
+ * et leurs profils ({@code loadtest}, {@code id-benchmark}) :
+ * {@code mvn spring-boot:test-run -Dspring-boot.run.main-class=com.wine.ecommerce.loadtest.LoadTestApplication
+ * -Dspring-boot.run.profiles=<profil>}.
+ */
+public class LoadTestApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.from(WineEcommerceApplication::main).run(args);
+    }
+}
@@ -0,0 +1,113 @@
+package com.wine.ecommerce.loadtest;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Paramètres du banc de charge des endpoints d'authentification (profil {@code loadtest}).
+ */
+@Data
+@Component
+@Profile("loadtest")
+@ConfigurationProperties(prefix = "app.loadtest")
+@Validated
+public class LoadTestProperties {
+
+    /**
+     * URL de l'instance ciblée. Vide : l'instance démarrée par le profil lui-même.
+     */
+    private String targetUrl = "";
+
+    /**
+     * Nombre d'utilisateurs inscrits avant la mesure. Chaque client virtuel utilise
+     * ses propres comptes, il en faut donc au moins autant que de clients.
+     */
+    @Min(value = 1, message = "Au moins un utilisateur est nécessaire")
+    private int users = 200;
+
+    /**
+     * Préfixe des emails des comptes de test ({@code <prefix>-00042@<domain>}).
+     */
+    @NotBlank(message = "Le préfixe des emails de test ne peut pas être vide")
+    private String emailPrefix = "loadtest";
+
+    /**
+     * Domaine des emails des comptes de test.
+     */
+    @NotBlank(message = "Le domaine des emails de test ne peut pas être vide")
+    private String emailDomain = "wineecommerce.com";
+
+    /**
+     * Mot de passe commun aux comptes de test.
+     */
+    @NotBlank(message = "Le mot de passe des comptes de test ne peut pas être vide")
+    private String password = "loadtest-password";
+
+    /**
+     * Nombre de clients virtuels envoyant des requêtes en parallèle.
+     */
+    @Min(value = 1, message = "Au moins un client virtuel est nécessaire")
+    private int concurrency = 32;
+
+    /**
+     * Durée de chauffe, non mesurée (JIT, pools de connexions, caches).
+     */
+    @NotNull(message = "La durée de chauffe est obligatoire")
+    private Duration warmup = Duration.ofSeconds(10);
+
+    /**
+     * Durée de la mesure.
+     */
+    @NotNull(message = "La durée de mesure est obligatoire")
+    private Duration duration = Duration.ofSeconds(60);
+
+    /**
+     * Part des requêtes de rafraîchissement dans le mélange login/refresh (0 à 1).
+     */
+    @DecimalMin(value = "0.0", message = "La part de refresh ne peut pas être négative")
+    @DecimalMax(value = "1.0", message = "La part de refresh ne peut pas dépasser 1")
+    private double refreshRatio = 0.8;
+
+    /**
+     * Taux d'erreur maximal toléré par opération avant d'échouer le banc.
+     */
+    @DecimalMin(value = "0.0", message = "Le taux d'erreur maximal ne peut pas être négatif")
+    @DecimalMax(value = "1.0", message = "Le taux d'erreur maximal ne peut pas dépasser 1")
+    private double maxErrorRate = 0.01;
+
+    /**
+     * p99 maximal toléré pour le login (non contrôlé si absent).
+     */
+    private Duration maxLoginP99;
+
+    /**
+     * p99 maximal toléré pour le refresh (non contrôlé si absent).
+     */
+    private Duration maxRefreshP99;
+
+    /**
+     * Arrête l'application à la fin du banc, avec un code de sortie non nul si un seuil
+     * est dépassé.
+     */
+    private boolean exitOnCompletion = true;
+
+    /**
+     * Retourne l'email du compte de test d'indice donné.
+     *
+     * @param index l'indice du compte (0 inclus à users exclus)
+     * @return l'email du compte
+     */
+    public String emailOf(int index) {
+        return String.format("%s-%05d@%s", emailPrefix, index, emailDomain);
+    }
+}
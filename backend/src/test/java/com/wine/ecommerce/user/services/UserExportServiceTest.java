@@ -0,0 +1,51 @@
+package com.wine.ecommerce.user.services;
+
+import com.wine.ecommerce.user.enums.UserExportFormat;
+import com.wine.ecommerce.user.enums.UserRole;
+import com.wine.ecommerce.user.enums.UserStatus;
+import com.wine.ecommerce.user.repositories.UserRepository;
+import com.wine.ecommerce.user.repositories.projections.UserExportRow;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserExportServiceTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', quoteCharacter = '`', value = {
+            "Dupont                    | Dupont",
+            "Dupont, Jean              | \"Dupont, Jean\"",
+            "=HYPERLINK(\"http://x\")  | \"'=HYPERLINK(\"\"http://x\"\")\"",
+            "+33612345678              | \"'+33612345678\"",
+            "-2+3                      | \"'-2+3\"",
+            "@SUM(A1:A2)               | \"'@SUM(A1:A2)\"",
+            "`\t=1+1`                  | \"'\t=1+1\"",
+            "`\r=1+1`                  | \"'\r=1+1\"",
+    })
+    void csvFieldsStartingLikeAFormulaAreExportedAsText(String lastName, String expectedField) throws Exception {
+        String csv = exportCsv(lastName);
+
+        String line = csv.substring(csv.indexOf("\r\n") + 2);
+        assertThat(line).contains(",Jean," + expectedField + ",");
+    }
+
+    private static String exportCsv(String lastName) throws Exception {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.streamExportRows()).thenReturn(Stream.of(new UserExportRow(UUID.randomUUID(),
+                "client@wineecommerce.com", "Jean", lastName, null, UserStatus.ACTIVE,
+                LocalDateTime.now(), UserRole.CLIENT)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new UserExportService(userRepository).exportUsers(UserExportFormat.CSV, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
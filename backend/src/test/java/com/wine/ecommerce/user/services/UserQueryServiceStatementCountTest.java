@@ -0,0 +1,126 @@
+package com.wine.ecommerce.user.services;
+
+import com.wine.ecommerce.user.dto.UserSummaryDto;
+import com.wine.ecommerce.user.entities.Role;
+import com.wine.ecommerce.user.entities.User;
+import com.wine.ecommerce.user.enums.UserRole;
+import com.wine.ecommerce.user.enums.UserStatus;
+import com.wine.ecommerce.user.mappers.UserMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Nombre de requêtes SQL par page de la liste d'administration, mesuré par les statistiques
+ * Hibernate ({@code generate_statistics}) : page, comptage et rôles de la page, soit au plus
+ * trois requêtes quelle que soit la taille de la page.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(UserQueryService.class)
+class UserQueryServiceStatementCountTest {
+
+    private static final int USERS = 330;
+    private static final long MAX_STATEMENTS_PER_PAGE = 3;
+
+    @MockitoBean
+    private UserManagementService userManagementService;
+
+    @MockitoBean
+    private UserMapper userMapper;
+
+    @Autowired
+    private UserQueryService userQueryService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Role client = persistRole(UserRole.CLIENT);
+        Role admin = persistRole(UserRole.ADMIN);
+        LocalDateTime createdAt = LocalDateTime.now();
+        for (int i = 0; i < USERS; i++) {
+            User user = User.builder()
+                    .email("user-" + i + "@wineecommerce.com")
+                    .password("$2a$12$hash")
+                    .firstName("Jean")
+                    .lastName("Dupont")
+                    .status(i % 4 == 0 ? UserStatus.SUSPENDED : UserStatus.ACTIVE)
+                    .roles(i % 3 == 0 ? Set.of(client, admin) : Set.of(client))
+                    .build();
+            user.setCreatedAt(createdAt.minusMinutes(i));
+            entityManager.persist(user);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 50})
+    void allUsersPageUsesAtMostThreeStatements(int pageSize) {
+        assertStatementsPerPage(pageSize, () -> userQueryService.getAllUsers(pageOf(pageSize)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 50})
+    void usersByStatusPageUsesAtMostThreeStatements(int pageSize) {
+        assertStatementsPerPage(pageSize,
+                () -> userQueryService.getUsersByStatus(UserStatus.ACTIVE, pageOf(pageSize)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 50})
+    void usersByRolePageUsesAtMostThreeStatements(int pageSize) {
+        assertStatementsPerPage(pageSize,
+                () -> userQueryService.getUsersByRole(UserRole.ADMIN, pageOf(pageSize)));
+    }
+
+    private void assertStatementsPerPage(int pageSize, Supplier<Page<UserSummaryDto>> query) {
+        statistics.clear();
+
+        Page<UserSummaryDto> page = query.get();
+
+        assertThat(page.getContent()).hasSize(pageSize);
+        assertThat(page.getTotalElements()).isGreaterThan(pageSize);
+        assertThat(page.getContent()).allSatisfy(user -> assertThat(user.roleNames()).isNotEmpty());
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE);
+    }
+
+    private Role persistRole(UserRole name) {
+        Role role = new Role(name);
+        role.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(role);
+        return role;
+    }
+
+    private static Pageable pageOf(int pageSize) {
+        // Deuxième page : le comptage n'est jamais déduit du contenu
+        return PageRequest.of(1, pageSize, Sort.by(Sort.Direction.DESC, "createdAt"));
+    }
+}